@@ -1,12 +1,12 @@
 package org.example.blog;
 
-import org.example.blog.dao.UserDaoImpl;
+import org.example.blog.dao.DaoFactory;
 import org.example.blog.service.UserService;
 import org.example.blog.service.UserServiceImpl;
 
 public class AppContext {
 
-    private static final UserService userService = new UserServiceImpl(new UserDaoImpl());
+    private static final UserService userService = new UserServiceImpl(DaoFactory.userDao());
 
     public static UserService getUserService() {
         return userService;
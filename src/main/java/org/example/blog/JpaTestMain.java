@@ -1,6 +1,5 @@
 package org.example.blog;
 
-import org.example.blog.dao.UserDaoImpl;
 import org.example.blog.model.*;
 import org.example.blog.dao.*;
 import org.example.blog.service.*;
@@ -13,14 +12,14 @@ import java.time.LocalDateTime;
 public class JpaTestMain {
     public static void main(String[] args) {
 
-        UserService userService = new UserServiceImpl(new UserDaoImpl());
+        UserService userService = new UserServiceImpl(DaoFactory.userDao());
 
         /*
          * ==========================================================
          * 1) TẠO TOPIC MẪU
          * ==========================================================
          */
-        TopicDAO topicDAO = new TopicDAO();
+        TopicDAO topicDAO = DaoFactory.topicDao();
         Topic tech = new Topic("Technology", "Công nghệ / AI / IT");
         Topic life = new Topic("Lifestyle", "Đời sống & phát triển bản thân");
         Topic travel = new Topic("Travel", "Du lịch & trải nghiệm");
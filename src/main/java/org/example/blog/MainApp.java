@@ -1,16 +1,42 @@
 package org.example.blog;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
 import javafx.stage.Stage;
+import org.example.blog.service.FeedCache;
+import org.example.blog.service.CounterReconciler;
+import org.example.blog.service.MediaGarbageCollector;
+import org.example.blog.service.PostSearchIndex;
+import org.example.blog.service.PostViewPartitionMaintainer;
+import org.example.blog.service.ViewCounter;
+import org.example.blog.service.ViewDeduplicator;
+import org.example.blog.service.ViewEventPipeline;
+import org.example.blog.util.ImageCache;
+import org.example.blog.util.JpaUtil;
+import org.example.blog.util.MediaStore;
+import org.example.blog.util.StartupTimer;
 
 public class MainApp extends Application {
 
     @Override
     public void start(Stage primaryStage) throws Exception {
 
+        // БД поднимается в фоне, пока рисуется landing-экран; затем строится поисковый индекс
+        // и включаются периодические задачи: уборка неиспользуемых картинок, секции post_views,
+        // сверка счётчиков
+        JpaUtil.startAsync().thenRun(() -> {
+            PostSearchIndex.getInstance().buildAsync();
+            MediaGarbageCollector.getInstance().start();
+            PostViewPartitionMaintainer.getInstance().start();
+            CounterReconciler.getInstance().start();
+        });
+
         FXMLLoader loader = new FXMLLoader(
                 getClass().getResource("/org/example/blog/view/landing-view.fxml")
         );
@@ -19,6 +45,41 @@ public class MainApp extends Application {
 
         Scene scene = new Scene(root);
 
+        // первый pulse после показа окна = первый кадр
+        Runnable firstFrame = new Runnable() {
+            @Override
+            public void run() {
+                StartupTimer.mark("first frame");
+                // снимаем после текущего pulse, а не во время обхода списка слушателей
+                Platform.runLater(() -> scene.removePostLayoutPulseListener(this));
+            }
+        };
+        scene.addPostLayoutPulseListener(firstFrame);
+
+        // Ctrl+Shift+M — вывести метрики (пул, кэш, DAO) в консоль
+        scene.getAccelerators().put(
+                new KeyCodeCombination(KeyCode.M, KeyCombination.SHORTCUT_DOWN, KeyCombination.SHIFT_DOWN),
+                () -> {
+                    System.out.println(JpaUtil.dumpMetrics());
+                    System.out.println("Search index: " + PostSearchIndex.getInstance().getStats());
+                    System.out.println("Feed cache: " + FeedCache.getInstance().getStats());
+                    System.out.println("Image cache: " + ImageCache.getInstance().getStats());
+                    System.out.println("Views: " + ViewCounter.getInstance().getStats());
+                    System.out.println("View events: " + ViewEventPipeline.getInstance().getStats());
+                    System.out.println("View dedup: counter " + ViewDeduplicator.forCounter().getStats()
+                            + " | log " + ViewDeduplicator.forViewLog().getStats());
+                    System.out.println("Media store: " + MediaStore.getInstance().getStats()
+                            + " gc: " + MediaGarbageCollector.getInstance().getStats());
+                    System.out.println("Counters: " + CounterReconciler.getInstance().getStats());
+                    System.out.println("View partitions: " + PostViewPartitionMaintainer.getInstance().getStats());
+                });
+
+        // Ctrl+Shift+R — сверить счётчики записей сейчас, итог — в консоль
+        scene.getAccelerators().put(
+                new KeyCodeCombination(KeyCode.R, KeyCombination.SHORTCUT_DOWN, KeyCombination.SHIFT_DOWN),
+                () -> CounterReconciler.getInstance().reconcileNow().whenComplete((report, e) ->
+                        System.out.println(e == null ? "Сверка счётчиков: " + report : "Сверка счётчиков не удалась: " + e)));
+
         primaryStage.setTitle("Blog System");
         primaryStage.setScene(scene);
 
@@ -31,6 +92,14 @@ public class MainApp extends Application {
         primaryStage.show();
     }
 
+    @Override
+    public void stop() {
+        // накопленные просмотры — в БД, пока она ещё открыта
+        ViewCounter.getInstance().shutdown();
+        ViewEventPipeline.getInstance().shutdown();
+        JpaUtil.close();
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
@@ -1,22 +1,26 @@
 package org.example.blog.controller;
 
 import javafx.collections.FXCollections;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.stage.FileChooser;
-import org.example.blog.dao.TopicDAO;
-import org.example.blog.dao.UserDaoImpl;
+import org.example.blog.dao.DaoFactory;
 import org.example.blog.model.Topic;
 import org.example.blog.model.User;
+import org.example.blog.service.TopicService;
+import org.example.blog.service.TopicServiceImpl;
 import org.example.blog.service.UserService;
 import org.example.blog.service.UserServiceImpl;
 import org.example.blog.session.Session;
+import org.example.blog.util.FxAsync;
+import org.example.blog.util.ImageCache;
+import org.example.blog.util.ImageVariants;
+import org.example.blog.util.MediaStore;
 
 import java.io.File;
 import java.text.Collator;
-import java.nio.file.*;
 import java.util.*;
 
 public class AccountController implements MainChildController {
@@ -33,9 +37,10 @@ public class AccountController implements MainChildController {
 
     @FXML private ImageView avatarImageView;
     @FXML private Label avatarFileLabel;
+    @FXML private ProgressBar avatarProgress;
 
-    private final TopicDAO topicDAO = new TopicDAO();
-    private final UserService userService = new UserServiceImpl(new UserDaoImpl());
+    private final TopicService topicService = new TopicServiceImpl();
+    private final UserService userService = new UserServiceImpl(DaoFactory.userDao());
 
     private MainController mainController;
 
@@ -55,15 +60,21 @@ public class AccountController implements MainChildController {
 
         initControls();
 
-        List<Topic> allTopics = topicDAO.findAll();
-        // sort topics ru
-        Locale ru = new Locale("ru");
-        Collator coll = Collator.getInstance(ru);
-        allTopics.sort(Comparator.comparing(t -> t.getName() != null ? t.getName() : "", coll));
+        FxAsync.then(topicService.findAllTopicsAsync(), topics -> {
+            // sort topics ru
+            List<Topic> allTopics = new ArrayList<>(topics);
+            Locale ru = new Locale("ru");
+            Collator coll = Collator.getInstance(ru);
+            allTopics.sort(Comparator.comparing(t -> t.getName() != null ? t.getName() : "", coll));
 
-        favoriteTopicsListView.getItems().setAll(allTopics);
+            favoriteTopicsListView.getItems().setAll(allTopics);
 
-        fillFormFromUser(user, allTopics);
+            fillFormFromUser(user, allTopics);
+        }, e -> {
+            e.printStackTrace();
+            messageLabel.setText("Не удалось загрузить темы.");
+            fillFormFromUser(user, List.of());
+        });
     }
 
     private void initControls() {
@@ -123,7 +134,7 @@ public class AccountController implements MainChildController {
         // avatar
         if (user.getAvatarUrl() != null && !user.getAvatarUrl().isBlank()) {
             avatarFileLabel.setText(shortFileName(user.getAvatarUrl()));
-            updateAvatarImage(user.getAvatarUrl());
+            updateAvatarImage(user);
         } else {
             avatarFileLabel.setText("Нет выбранного файла");
             avatarImageView.setImage(null);
@@ -143,24 +154,19 @@ public class AccountController implements MainChildController {
     }
 
     private String shortFileName(String path) {
+        // в хранилище имя — хэш содержимого
+        if (MediaStore.isRef(path)) return "Фото загружено";
         int idx = path.lastIndexOf(File.separatorChar);
         if (idx >= 0 && idx < path.length() - 1) return path.substring(idx + 1);
         return path;
     }
 
-    private void updateAvatarImage(String storedPath) {
+    // большой вариант аватара; у загруженных раньше — оригинал
+    private void updateAvatarImage(User user) {
+        String path = user.getAvatarLargeUrl() != null ? user.getAvatarLargeUrl() : user.getAvatarUrl();
         try {
-            if (storedPath == null || storedPath.isBlank()) {
-                avatarImageView.setImage(null);
-                return;
-            }
-
-            String url;
-            if (storedPath.startsWith("http")) url = storedPath;
-            else if (storedPath.startsWith("file:")) url = storedPath;
-            else url = "file:" + storedPath;
-
-            avatarImageView.setImage(new Image(url, true));
+            avatarImageView.setImage(ImageCache.getInstance().get(path,
+                    avatarImageView.getFitWidth(), avatarImageView.getFitHeight()));
         } catch (Exception e) {
             avatarImageView.setImage(null);
         }
@@ -180,27 +186,36 @@ public class AccountController implements MainChildController {
         File selected = chooser.showOpenDialog(avatarImageView.getScene().getWindow());
         if (selected == null) return;
 
-        try {
-            Path destDir = Paths.get("images", "avatars");
-            Files.createDirectories(destDir);
-
-            String fileName = System.currentTimeMillis() + "_" + selected.getName();
-            Path dest = destDir.resolve(fileName);
+        // копия и варианты аватара — в фоне, с прогрессом
+        Task<ImageVariants.Stored> upload = ImageVariants.upload(selected, ImageVariants.Variant.AVATAR_LARGE);
 
-            Files.copy(selected.toPath(), dest, StandardCopyOption.REPLACE_EXISTING);
+        avatarFileLabel.setText(selected.getName());
+        avatarProgress.progressProperty().bind(upload.progressProperty());
+        showUploadProgress(true);
 
-            String storedPath = dest.toAbsolutePath().toString();
-            user.setAvatarUrl(storedPath);
+        upload.setOnSucceeded(e -> {
+            showUploadProgress(false);
+            ImageVariants.Stored stored = upload.getValue();
+            user.setAvatarUrl(stored.getOriginal());
+            user.setAvatarLargeUrl(stored.get(ImageVariants.Variant.AVATAR_LARGE));
             Session.setCurrentUser(user);
 
-            avatarFileLabel.setText(selected.getName());
-            updateAvatarImage(storedPath);
-
+            updateAvatarImage(user);
             messageLabel.setText("Аватар обновлён ✔");
-        } catch (Exception ex) {
-            ex.printStackTrace();
+        });
+        upload.setOnFailed(e -> {
+            showUploadProgress(false);
+            upload.getException().printStackTrace();
+            avatarFileLabel.setText(user.getAvatarUrl() != null ? shortFileName(user.getAvatarUrl()) : "Нет выбранного файла");
             showAlert(Alert.AlertType.ERROR, "Ошибка", null, "Не удалось сохранить аватар.");
-        }
+        });
+        ImageVariants.start(upload);
+    }
+
+    private void showUploadProgress(boolean uploading) {
+        avatarProgress.setVisible(uploading);
+        avatarProgress.setManaged(uploading);
+        if (!uploading) avatarProgress.progressProperty().unbind();
     }
 
     @FXML
@@ -224,20 +239,21 @@ public class AccountController implements MainChildController {
 
         if (!validateProfile(user)) return;
 
-        try {
-            boolean ok = userService.updateProfile(user);
+        messageLabel.setText("Сохранение…");
+        FxAsync.then(userService.updateProfileAsync(user), ok -> {
             if (ok) {
                 messageLabel.setText("Изменения сохранены ✔");
                 // обновим сессию (не меняет логику, просто делает данные “fresh”)
-                User fresh = userService.findById(user.getId());
-                if (fresh != null) Session.setCurrentUser(fresh);
+                FxAsync.then(userService.findByIdAsync(user.getId()), fresh -> {
+                    if (fresh != null) Session.setCurrentUser(fresh);
+                });
             } else {
                 messageLabel.setText("Не удалось сохранить изменения. Попробуйте ещё раз.");
             }
-        } catch (Exception e) {
+        }, e -> {
             e.printStackTrace();
             messageLabel.setText("Ошибка при сохранении профиля.");
-        }
+        });
     }
 
     private boolean validateProfile(User user) {
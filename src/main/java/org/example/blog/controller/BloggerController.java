@@ -9,38 +9,39 @@ import javafx.scene.control.TableRow;
 import javafx.scene.control.TableView;
 import org.example.blog.model.Post;
 import org.example.blog.model.PostStatus;
+import org.example.blog.model.PostSummary;
 import org.example.blog.model.User;
 import org.example.blog.service.PostService;
 import org.example.blog.session.Session;
+import org.example.blog.util.FxAsync;
 
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 
 public class BloggerController implements MainChildController {
 
     @FXML
-    private TableView<Post> postTable;
+    private TableView<PostSummary> postTable;
 
     @FXML
-    private TableColumn<Post, String> colTitle;
+    private TableColumn<PostSummary, String> colTitle;
 
     @FXML
-    private TableColumn<Post, String> colTopic;
+    private TableColumn<PostSummary, String> colTopic;
 
     @FXML
-    private TableColumn<Post, String> colStatus;
+    private TableColumn<PostSummary, String> colStatus;
 
     @FXML
-    private TableColumn<Post, String> colCreatedAt;
+    private TableColumn<PostSummary, String> colCreatedAt;
 
     @FXML
-    private TableColumn<Post, Number> colViews;
+    private TableColumn<PostSummary, Number> colViews;
 
     @FXML
-    private TableColumn<Post, Number> colComments;
+    private TableColumn<PostSummary, Number> colComments;
 
     @FXML
-    private TableColumn<Post, Number> colSaved;
+    private TableColumn<PostSummary, Number> colSaved;
 
     private final PostService postService = new PostService();
 
@@ -64,10 +65,8 @@ public class BloggerController implements MainChildController {
                 new SimpleStringProperty(c.getValue().getTitle()));
 
         colTopic.setCellValueFactory(c -> {
-            Post p = c.getValue();
-            String topicName = (p.getTopic() != null && p.getTopic().getName() != null)
-                    ? p.getTopic().getName()
-                    : "(без темы)";
+            PostSummary p = c.getValue();
+            String topicName = p.getTopicName() != null ? p.getTopicName() : "(без темы)";
             return new SimpleStringProperty(topicName);
         });
 
@@ -98,7 +97,7 @@ public class BloggerController implements MainChildController {
         }
 
         colCreatedAt.setCellValueFactory(c -> {
-            Post p = c.getValue();
+            PostSummary p = c.getValue();
             String text = (p.getCreatedAt() != null)
                     ? p.getCreatedAt().format(dateFormatter)
                     : "";
@@ -128,17 +127,16 @@ public class BloggerController implements MainChildController {
             return;
         }
 
-        List<Post> posts = postService.getPostsByAuthor(current);
-        System.out.println("BloggerController.loadPostsOfCurrentUser() -> size = " + posts.size());
-        postTable.setItems(FXCollections.observableArrayList(posts));
+        FxAsync.loadInto(postTable, postService.getPostSummariesByAuthorAsync(current),
+                Throwable::printStackTrace);
     }
 
     private void setupRowDoubleClick() {
         postTable.setRowFactory(tv -> {
-            TableRow<Post> row = new TableRow<>();
+            TableRow<PostSummary> row = new TableRow<>();
             row.setOnMouseClicked(event -> {
                 if (event.getClickCount() == 2 && !row.isEmpty()) {
-                    Post selected = row.getItem();
+                    PostSummary selected = row.getItem();
                     openPostForm(selected);
                 }
             });
@@ -158,7 +156,7 @@ public class BloggerController implements MainChildController {
 
     @FXML
     private void handleEditPost() {
-        Post selected = postTable.getSelectionModel().getSelectedItem();
+        PostSummary selected = postTable.getSelectionModel().getSelectedItem();
         if (selected == null) {
             Alert alert = new Alert(Alert.AlertType.INFORMATION);
             alert.setTitle("Информация");
@@ -172,7 +170,7 @@ public class BloggerController implements MainChildController {
 
     @FXML
     private void handleDeletePost() {
-        Post selected = postTable.getSelectionModel().getSelectedItem();
+        PostSummary selected = postTable.getSelectionModel().getSelectedItem();
         if (selected == null) {
             Alert alert = new Alert(Alert.AlertType.INFORMATION);
             alert.setTitle("Информация");
@@ -189,14 +187,21 @@ public class BloggerController implements MainChildController {
         var result = confirm.showAndWait();
 
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            postService.deletePost(selected);
-            loadPostsOfCurrentUser();
+            FxAsync.then(postService.deletePostAsync(selected.getId()), v -> loadPostsOfCurrentUser(), e -> {
+                e.printStackTrace();
+                loadPostsOfCurrentUser();
+            });
         }
     }
 
-    private void openPostForm(Post post) {
+    private void openPostForm(PostSummary post) {
         if (mainController != null) {
-            mainController.openPostFormPage(post);
+            if (post == null) {
+                mainController.openPostFormPage(null);
+                return;
+            }
+            // форме нужен полный Post (content), в таблице его нет
+            FxAsync.then(postService.findByIdAsync(post.getId()), mainController::openPostFormPage);
         } else {
             System.out.println("BloggerController: mainController is null, cannot open post form.");
         }
@@ -12,13 +12,14 @@ import javafx.scene.chart.XYChart;
 import javafx.scene.control.Label;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
-import org.example.blog.model.PostStatus;
 import org.example.blog.model.User;
 import org.example.blog.service.DashboardService;
+import org.example.blog.service.DashboardService.DashboardData;
 import org.example.blog.service.DashboardService.ReaderTopicStat;
 import org.example.blog.service.DashboardService.TopicPostCount;
 import org.example.blog.service.DashboardService.TopPostStat;
 import org.example.blog.session.Session;
+import org.example.blog.util.FxAsync;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -119,126 +120,111 @@ public class DashboardController implements MainChildController {
     }
 
     private void loadStats() {
-        try {
-            long total = dashboardService.countPosts(currentUser);
+        FxAsync.loading(lblTotalPosts, lblPublished, lblDraft, lblComments, lblSaved, lblTotalViews,
+                lblReaderSaved, lblReaderCommentedPosts, lblReaderViewed, lblReaderStreak);
+        messageLabel.setStyle("-fx-text-fill: gray;");
+        messageLabel.setText("Загрузка статистики…");
 
-            //ВАЖНО: статусы хранятся в БД на русском (PostStatus)
-            long published = dashboardService.countPostsByStatus(currentUser, PostStatus.PUBLISHED);
-            long draft = dashboardService.countPostsByStatus(currentUser, PostStatus.DRAFT);
+        // Views chart (30 days)
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusDays(29);
 
-            long comments = dashboardService.countComments(currentUser);
-            long saved = dashboardService.countSavedPosts(currentUser);
-            long totalViews = dashboardService.countTotalViews(currentUser);
+        FxAsync.then(dashboardService.loadAsync(currentUser, from, to), this::showStats, e -> {
+            e.printStackTrace();
+            messageLabel.setStyle("-fx-text-fill: red;");
+            messageLabel.setText("Ошибка при загрузке статистики (см. лог).");
+        });
+    }
 
-            List<TopicPostCount> topicCounts =
-                    dashboardService.countPostsByTopic(currentUser);
+    private void showStats(DashboardData d) {
+        lblTotalPosts.setText(String.valueOf(d.getTotalPosts()));
+        lblPublished.setText(String.valueOf(d.getPublished()));
+        lblDraft.setText(String.valueOf(d.getDrafts()));
+        lblComments.setText(String.valueOf(d.getComments()));
+        lblSaved.setText(String.valueOf(d.getSavedPosts()));
+        lblTotalViews.setText(String.valueOf(d.getTotalViews()));
 
-            lblTotalPosts.setText(String.valueOf(total));
-            lblPublished.setText(String.valueOf(published));
-            lblDraft.setText(String.valueOf(draft));
-            lblComments.setText(String.valueOf(comments));
-            lblSaved.setText(String.valueOf(saved));
-            lblTotalViews.setText(String.valueOf(totalViews));
+        List<TopicPostCount> topicCounts = d.getTopicCounts();
+        if (topicTable != null) {
+            topicTable.setItems(FXCollections.observableArrayList(topicCounts));
+        }
 
-            if (topicTable != null) {
-                topicTable.setItems(FXCollections.observableArrayList(topicCounts));
+        if (bloggerTopicsPieChart != null) {
+            bloggerTopicsPieChart.getData().clear();
+            for (TopicPostCount tc : topicCounts) {
+                bloggerTopicsPieChart.getData().add(
+                        new PieChart.Data(tc.getTopicName(), tc.getCount())
+                );
             }
+        }
 
-            if (bloggerTopicsPieChart != null) {
-                bloggerTopicsPieChart.getData().clear();
-                for (TopicPostCount tc : topicCounts) {
-                    bloggerTopicsPieChart.getData().add(
-                            new PieChart.Data(tc.getTopicName(), tc.getCount())
-                    );
-                }
-            }
+        if (topPostsTable != null) {
+            ObservableList<TopPostStat> data =
+                    FXCollections.observableArrayList(d.getTopPosts());
+            topPostsTable.setItems(data);
+        }
 
-            List<TopPostStat> topPosts =
-                    dashboardService.getTopPostsByEngagement(currentUser, 5);
-            if (topPostsTable != null) {
-                ObservableList<TopPostStat> data =
-                        FXCollections.observableArrayList(topPosts);
-                topPostsTable.setItems(data);
-            }
+        // Reader stats
+        if (lblReaderSaved != null) lblReaderSaved.setText(String.valueOf(d.getSavedPosts()));
+        if (lblReaderCommentedPosts != null) lblReaderCommentedPosts.setText(String.valueOf(d.getCommentedPosts()));
+        if (lblReaderViewed != null) lblReaderViewed.setText(String.valueOf(d.getViewedPosts()));
+        if (lblReaderStreak != null) lblReaderStreak.setText(String.valueOf(d.getReadingStreak()));
 
-            // Reader stats
-            long readerSaved = dashboardService.countSavedPosts(currentUser);
-            long readerCommentedPosts = dashboardService.countCommentedPosts(currentUser);
-            long readerViewed = dashboardService.countViewedPostsByUser(currentUser);
-            int streak = dashboardService.getReadingStreak(currentUser);
+        if (readerViewsChart != null) {
+            readerViewsChart.getData().clear();
 
-            if (lblReaderSaved != null) lblReaderSaved.setText(String.valueOf(readerSaved));
-            if (lblReaderCommentedPosts != null) lblReaderCommentedPosts.setText(String.valueOf(readerCommentedPosts));
-            if (lblReaderViewed != null) lblReaderViewed.setText(String.valueOf(readerViewed));
-            if (lblReaderStreak != null) lblReaderStreak.setText(String.valueOf(streak));
+            Map<LocalDate, Long> dailyViews = d.getDailyViews();
 
-            // Views chart (30 days)
-            if (readerViewsChart != null) {
-                readerViewsChart.getData().clear();
+            XYChart.Series<String, Number> series = new XYChart.Series<>();
+            series.setName("Просмотры");
 
-                LocalDate to = LocalDate.now();
-                LocalDate from = to.minusDays(29);
+            List<LocalDate> days = dailyViews.keySet().stream()
+                    .sorted()
+                    .collect(Collectors.toList());
 
-                Map<LocalDate, Long> dailyViews =
-                        dashboardService.getDailyViewsForUser(currentUser, from, to);
+            for (LocalDate day : days) {
+                Long count = dailyViews.get(day);
+                series.getData().add(
+                        new XYChart.Data<>(day.format(dateFormatter), count != null ? count : 0L)
+                );
+            }
 
-                XYChart.Series<String, Number> series = new XYChart.Series<>();
-                series.setName("Просмотры");
+            readerViewsChart.getData().add(series);
+        }
 
-                List<LocalDate> days = dailyViews.keySet().stream()
-                        .sorted()
-                        .collect(Collectors.toList());
+        // Reader topics pie
+        if (readerTopicsPieChart != null) {
+            readerTopicsPieChart.getData().clear();
 
-                for (LocalDate day : days) {
-                    Long count = dailyViews.get(day);
-                    series.getData().add(
-                            new XYChart.Data<>(day.format(dateFormatter), count != null ? count : 0L)
-                    );
-                }
+            List<ReaderTopicStat> readerTopicStats = d.getReaderTopics();
 
-                readerViewsChart.getData().add(series);
-            }
+            int MAX_SLICE = 6;
+            List<ReaderTopicStat> sorted =
+                    readerTopicStats.stream()
+                            .sorted(Comparator.comparingDouble(ReaderTopicStat::getScore).reversed())
+                            .collect(Collectors.toList());
 
-            // Reader topics pie
-            if (readerTopicsPieChart != null) {
-                readerTopicsPieChart.getData().clear();
-
-                List<ReaderTopicStat> readerTopicStats =
-                        dashboardService.getReaderTopicStats(currentUser);
-
-                int MAX_SLICE = 6;
-                List<ReaderTopicStat> sorted =
-                        readerTopicStats.stream()
-                                .sorted(Comparator.comparingDouble(ReaderTopicStat::getScore).reversed())
-                                .collect(Collectors.toList());
-
-                double otherScore = 0;
-                int index = 0;
-                for (ReaderTopicStat stat : sorted) {
-                    if (index < MAX_SLICE) {
-                        readerTopicsPieChart.getData().add(
-                                new PieChart.Data(stat.getTopicName(), stat.getScore())
-                        );
-                    } else {
-                        otherScore += stat.getScore();
-                    }
-                    index++;
-                }
-                if (otherScore > 0) {
+            double otherScore = 0;
+            int index = 0;
+            for (ReaderTopicStat stat : sorted) {
+                if (index < MAX_SLICE) {
                     readerTopicsPieChart.getData().add(
-                            new PieChart.Data("Другое", otherScore)
+                            new PieChart.Data(stat.getTopicName(), stat.getScore())
                     );
+                } else {
+                    otherScore += stat.getScore();
                 }
+                index++;
+            }
+            if (otherScore > 0) {
+                readerTopicsPieChart.getData().add(
+                        new PieChart.Data("Другое", otherScore)
+                );
             }
-
-            messageLabel.setStyle("-fx-text-fill: gray;");
-            messageLabel.setText("Статистика для аккаунта: " + currentUser.getUsername());
-
-        } catch (Exception e) {
-            e.printStackTrace();
-            messageLabel.setStyle("-fx-text-fill: red;");
-            messageLabel.setText("Ошибка при загрузке статистики (см. лог).");
         }
+
+        messageLabel.setStyle("-fx-text-fill: gray;");
+        messageLabel.setText("Статистика для аккаунта: " + currentUser.getUsername());
     }
 
     @FXML
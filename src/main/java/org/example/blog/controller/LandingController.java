@@ -1,29 +1,71 @@
 package org.example.blog.controller;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
 import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
 import javafx.stage.Stage;
+import org.example.blog.util.JpaUtil;
 
 public class LandingController {
 
     @FXML
     private BorderPane rootPane;
 
+    @FXML private Button loginButton;
+    @FXML private Button registerButton;
+    @FXML private HBox bootProgressBox;
+
     @FXML
     private void handleGoToLogin() {
-        switchScene("/org/example/blog/view/login-view.fxml",
+        switchSceneWhenReady("/org/example/blog/view/login-view.fxml",
                 "Блог-система - Вход");
     }
 
     @FXML
     private void handleGoToRegister() {
-        switchScene("/org/example/blog/view/register-view.fxml",
+        switchSceneWhenReady("/org/example/blog/view/register-view.fxml",
                 "Блог-система - Регистрация");
     }
 
+    /**
+     * Login/Register сразу обращаются к БД, поэтому ждём фоновую
+     * инициализацию JpaUtil; пока она идёт — показываем индикатор.
+     */
+    private void switchSceneWhenReady(String fxmlPath, String title) {
+        if (JpaUtil.isReady()) {
+            switchScene(fxmlPath, title);
+            return;
+        }
+
+        setBooting(true);
+        JpaUtil.startAsync().whenComplete((emf, error) -> Platform.runLater(() -> {
+            setBooting(false);
+            if (error != null) {
+                error.printStackTrace();
+                Alert alert = new Alert(Alert.AlertType.ERROR);
+                alert.setTitle("Ошибка");
+                alert.setHeaderText("Не удалось подключиться к базе данных.");
+                alert.setContentText("Проверьте, что PostgreSQL запущен, и перезапустите приложение.");
+                alert.showAndWait();
+                return;
+            }
+            switchScene(fxmlPath, title);
+        }));
+    }
+
+    private void setBooting(boolean booting) {
+        bootProgressBox.setVisible(booting);
+        bootProgressBox.setManaged(booting);
+        loginButton.setDisable(booting);
+        registerButton.setDisable(booting);
+    }
+
     private void switchScene(String fxmlPath, String title) {
         try {
             FXMLLoader loader = new FXMLLoader(
@@ -10,11 +10,12 @@ import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
-import org.example.blog.dao.UserDaoImpl;
+import org.example.blog.dao.DaoFactory;
 import org.example.blog.model.User;
 import org.example.blog.service.UserService;
 import org.example.blog.service.UserServiceImpl;
 import org.example.blog.session.Session;
+import org.example.blog.util.FxAsync;
 
 import java.io.IOException;
 import java.util.Locale;
@@ -25,7 +26,7 @@ public class LoginController {
     @FXML private PasswordField passwordField;
     @FXML private Label messageLabel;
 
-    private final UserService userService = new UserServiceImpl(new UserDaoImpl());
+    private final UserService userService = new UserServiceImpl(DaoFactory.userDao());
 
     @FXML
     private void initialize() {
@@ -54,9 +55,10 @@ public class LoginController {
             return;
         }
 
-        try {
-            User logged = userService.login(username, password);
-
+        // проверка пароля (PBKDF2) и запрос — не в FX-потоке
+        usernameField.getScene().getRoot().setDisable(true);
+        FxAsync.then(userService.loginAsync(username, password), logged -> {
+            usernameField.getScene().getRoot().setDisable(false);
             if (logged == null) {
                 messageLabel.setText("Неверное имя пользователя или пароль.");
                 return;
@@ -64,12 +66,12 @@ public class LoginController {
 
             Session.setCurrentUser(logged);
             openMainView(logged);
-
-        } catch (Exception ex) {
+        }, ex -> {
+            usernameField.getScene().getRoot().setDisable(false);
             ex.printStackTrace();
             showAlert("Ошибка", "Не удалось выполнить вход.",
                     "Проверьте подключение к базе данных и попробуйте снова.");
-        }
+        });
     }
 
     private void openMainView(User loggedUser) {
@@ -7,12 +7,13 @@ import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.layout.BorderPane;
 import javafx.stage.Stage;
-import org.example.blog.dao.UserDaoImpl;
+import org.example.blog.dao.DaoFactory;
 import org.example.blog.model.Post;
 import org.example.blog.model.User;
 import org.example.blog.service.UserService;
 import org.example.blog.service.UserServiceImpl;
 import org.example.blog.session.Session;
+import org.example.blog.util.FxAsync;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 
@@ -27,7 +28,7 @@ public class MainController {
 
     private User currentUser;
 
-    private final UserService userService = new UserServiceImpl(new UserDaoImpl());
+    private final UserService userService = new UserServiceImpl(DaoFactory.userDao());
 
     //  ОБЩАЯ ФУНКЦИЯ ЗАГРУЗКИ FXML
 
@@ -110,16 +111,16 @@ public class MainController {
     @FXML
     private void openAccount() {
         updateModeTabs(null);
-        try {
-            User u = Session.getCurrentUser();
-            if (u != null) {
-                User fresh = userService.findById(u.getId());
-                Session.setCurrentUser(fresh);
-            }
+        User u = Session.getCurrentUser();
+        if (u == null) {
             setCenterView("/org/example/blog/view/account-view.fxml");
-        } catch (Exception e) {
-            e.printStackTrace();
+            return;
         }
+        // свежие данные профиля из БД, страница открывается после загрузки
+        FxAsync.then(userService.findByIdAsync(u.getId()), fresh -> {
+            Session.setCurrentUser(fresh);
+            setCenterView("/org/example/blog/view/account-view.fxml");
+        });
     }
 
     //  SAVED POSTS
@@ -130,8 +131,8 @@ public class MainController {
     }
 
     //  POST DETAIL
-    public void openPostDetailPage(Post post) {
-        if (post == null) return;
+    public void openPostDetailPage(Long postId) {
+        if (postId == null) return;
 
         try {
             FXMLLoader loader = new FXMLLoader(
@@ -141,7 +142,7 @@ public class MainController {
 
             Object ctrl = loader.getController();
             if (ctrl instanceof MainChildController mc) mc.setMainController(this);
-            if (ctrl instanceof PostDetailController pc) pc.setPost(post);
+            if (ctrl instanceof PostDetailController pc) pc.setPostId(postId);
 
             rootPane.setCenter(content);
 
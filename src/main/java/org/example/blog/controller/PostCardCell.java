@@ -0,0 +1,94 @@
+package org.example.blog.controller;
+
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import org.example.blog.model.PostSummary;
+import org.example.blog.util.ImageCache;
+
+import java.time.format.DateTimeFormatter;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Карточка записи в ленте Reader (тот же вид, что и прежняя карточка из VBox).
+ * ListView создаёт только видимые ячейки и переиспользует их при прокрутке:
+ * узлы карточки строятся один раз на ячейку, updateItem лишь меняет данные.
+ */
+public class PostCardCell extends ListCell<PostSummary> {
+
+    private static final DateTimeFormatter DATE_FORMATTER =
+            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private final HBox card = new HBox(12);
+    private final ImageView thumb = new ImageView();
+    private final Label titleLabel = new Label();
+    private final Label metaLabel = new Label();
+    private final Label dateLabel = new Label();
+
+    private final IntConsumer onShown;
+
+    /**
+     * @param onOpen  двойной клик по карточке
+     * @param onShown индекс только что показанной ячейки (для подгрузки следующей страницы)
+     */
+    public PostCardCell(Consumer<PostSummary> onOpen, IntConsumer onShown) {
+        this.onShown = onShown;
+
+        card.getStyleClass().addAll("card", "post-card");
+
+        thumb.getStyleClass().add("post-thumbnail");
+        thumb.setFitWidth(140);
+        thumb.setFitHeight(90);
+        thumb.setPreserveRatio(true);
+
+        titleLabel.getStyleClass().add("post-title");
+        titleLabel.setWrapText(true);
+        metaLabel.getStyleClass().add("post-meta");
+        dateLabel.getStyleClass().add("post-date");
+
+        VBox textBox = new VBox(4, titleLabel, metaLabel, dateLabel);
+        card.getChildren().addAll(thumb, textBox);
+
+        card.setOnMouseClicked(e -> {
+            if (e.getClickCount() == 2 && getItem() != null && onOpen != null) {
+                onOpen.accept(getItem());
+            }
+        });
+
+        // ширина ячейки = ширина списка, без горизонтальной прокрутки
+        setPrefWidth(0);
+    }
+
+    @Override
+    protected void updateItem(PostSummary post, boolean empty) {
+        super.updateItem(post, empty);
+
+        if (empty || post == null) {
+            thumb.setImage(null);
+            setGraphic(null);
+            return;
+        }
+
+        String title = post.getTitle() != null ? post.getTitle() : "(без названия)";
+        titleLabel.setText(title);
+
+        String authorName = post.getAuthorName() != null ? post.getAuthorName() : "(нет автора)";
+        String topicName = post.getTopicName() != null ? post.getTopicName() : "(без темы)";
+        int views = post.getViews() != null ? post.getViews() : 0;
+        metaLabel.setText(authorName + " | " + topicName + " | " + views + " просмотров");
+
+        dateLabel.setText(post.getCreatedAt() != null ? post.getCreatedAt().format(DATE_FORMATTER) : "");
+
+        // http/file/classpath; декодируется в размере миниатюры, одна на все ячейки и обновления ленты
+        thumb.setImage(ImageCache.getInstance().get(post.getThumbnailUrl(), thumb.getFitWidth(), thumb.getFitHeight()));
+
+        setGraphic(card);
+
+        if (onShown != null) {
+            onShown.accept(getIndex());
+        }
+    }
+}
@@ -4,7 +4,6 @@ import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import org.example.blog.model.Comment;
 import org.example.blog.model.Post;
@@ -14,11 +13,11 @@ import org.example.blog.service.PostService;
 import org.example.blog.service.SavedPostService;
 import org.example.blog.service.PostViewService;
 import org.example.blog.session.Session;
+import org.example.blog.util.FxAsync;
+import org.example.blog.util.ImageCache;
 
-import java.net.URL;
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
-import java.util.List;
 
 public class PostDetailController implements MainChildController {
 
@@ -95,13 +94,23 @@ public class PostDetailController implements MainChildController {
         if (saveInfoLabel != null) saveInfoLabel.setText("");
     }
 
+    /** Списки передают только id — полная запись (с content) грузится здесь. */
+    public void setPostId(Long postId) {
+        titleLabel.setText("Загрузка…");
+        FxAsync.then(postService.findByIdAsync(postId), this::setPost, e -> {
+            e.printStackTrace();
+            titleLabel.setText("Не удалось загрузить запись.");
+        });
+    }
+
     public void setPost(Post post) {
         if (post == null) return;
 
         this.currentPost = post;
 
         // load image supports http/file/classpath
-        loadThumbnailSmart(post.getThumbnailUrl());
+        // вариант для страницы записи, у старых записей — оригинал
+        loadThumbnailSmart(post.getThumbnailDetailUrl() != null ? post.getThumbnailDetailUrl() : post.getThumbnailUrl());
 
         titleLabel.setText(safeStr(post.getTitle(), "(без названия)"));
         authorLabel.setText(post.getAuthor() != null
@@ -120,11 +129,10 @@ public class PostDetailController implements MainChildController {
         viewLabel.setText(String.valueOf(views));
 
         if (post.getId() != null) {
-            try {
-                postService.increaseViews(post.getId());
+            // только память (ViewCounter), в FX-потоке дёшево
+            User reader = Session.getCurrentUser();
+            if (postService.increaseViews(post.getId(), reader != null ? reader.getId() : null)) {
                 viewLabel.setText(String.valueOf(views + 1));
-            } catch (Exception e) {
-                e.printStackTrace();
             }
         }
 
@@ -134,33 +142,7 @@ public class PostDetailController implements MainChildController {
     }
 
     private void loadThumbnailSmart(String path) {
-        Image img = loadImageSmart(path);
-        thumbnailImageView.setImage(img);
-    }
-
-    private Image loadImageSmart(String path) {
-        if (path == null || path.isBlank()) return null;
-
-        try {
-            if (path.startsWith("http://") || path.startsWith("https://")) {
-                return new Image(path, true);
-            }
-
-            if (path.startsWith("classpath:")) {
-                String rel = path.substring("classpath:".length()); // "/images/..."
-                URL url = getClass().getResource(rel);
-                if (url != null) return new Image(url.toExternalForm(), true);
-                return null;
-            }
-
-            if (path.startsWith("file:")) {
-                return new Image(path, true);
-            }
-
-            return new Image("file:" + path, true);
-        } catch (Exception e) {
-            return null;
-        }
+        thumbnailImageView.setImage(ImageCache.getInstance().get(path, thumbnailImageView.getFitWidth(), 0));
     }
 
     private void logReaderView() {
@@ -169,11 +151,8 @@ public class PostDetailController implements MainChildController {
         User user = Session.getCurrentUser();
         if (user == null || user.getId() == null) return;
 
-        try {
-            postViewService.logView(currentPost, user);
-        } catch (Exception e) {
-            // не падаем
-        }
+        // только постановка в очередь, запись в БД — в фоне
+        postViewService.logView(currentPost, user);
     }
 
     private void updateSaveButtonState() {
@@ -190,14 +169,14 @@ public class PostDetailController implements MainChildController {
             return;
         }
 
-        boolean saved;
-        try {
-            saved = savedPostService.isSaved(currentPost, user);
-        } catch (Exception e) {
+        saveButton.setDisable(true);
+        FxAsync.then(savedPostService.isSavedAsync(currentPost, user), this::showSaveState, e -> {
             e.printStackTrace();
-            saved = false;
-        }
+            showSaveState(false);
+        });
+    }
 
+    private void showSaveState(boolean saved) {
         saveButton.setDisable(false);
         if (saved) {
             saveButton.setText("Удалить из сохранённых");
@@ -214,13 +193,8 @@ public class PostDetailController implements MainChildController {
             return;
         }
 
-        try {
-            List<Comment> list = commentService.getCommentsByPostId(currentPost.getId());
-            commentTable.setItems(FXCollections.observableArrayList(list));
-        } catch (Exception e) {
-            e.printStackTrace();
-            commentTable.setItems(FXCollections.observableArrayList(Collections.emptyList()));
-        }
+        FxAsync.loadInto(commentTable, commentService.getCommentsByPostIdAsync(currentPost.getId()),
+                Throwable::printStackTrace);
     }
 
     @FXML
@@ -244,15 +218,17 @@ public class PostDetailController implements MainChildController {
             return;
         }
 
-        try {
-            commentService.addComment(currentPost, user, text.trim());
+        newCommentArea.setDisable(true);
+        FxAsync.then(commentService.addCommentAsync(currentPost, user, text.trim()), c -> {
+            newCommentArea.setDisable(false);
             newCommentArea.clear();
             commentMessageLabel.setText("Комментарий добавлен.");
             loadComments();
-        } catch (Exception e) {
+        }, e -> {
             e.printStackTrace();
+            newCommentArea.setDisable(false);
             commentMessageLabel.setText("Ошибка при добавлении комментария.");
-        }
+        });
     }
 
     @FXML
@@ -268,20 +244,12 @@ public class PostDetailController implements MainChildController {
             return;
         }
 
-        try {
-            boolean saved = savedPostService.isSaved(currentPost, user);
-
-            if (saved) {
-                savedPostService.unsave(currentPost, user);
-            } else {
-                savedPostService.save(currentPost, user);
-            }
-
-            updateSaveButtonState();
-        } catch (Exception e) {
+        saveButton.setDisable(true);
+        FxAsync.then(savedPostService.toggleAsync(currentPost, user), this::showSaveState, e -> {
             e.printStackTrace();
+            saveButton.setDisable(false);
             saveInfoLabel.setText("Ошибка при сохранении записи.");
-        }
+        });
     }
 
     @FXML
@@ -1,8 +1,8 @@
 package org.example.blog.controller;
 
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
@@ -11,15 +11,17 @@ import org.example.blog.model.PostStatus;
 import org.example.blog.model.Topic;
 import org.example.blog.model.User;
 import org.example.blog.service.PostService;
+import org.example.blog.service.TopicService;
+import org.example.blog.service.TopicServiceImpl;
 import org.example.blog.session.Session;
-import org.example.blog.util.JpaUtil;
+import org.example.blog.util.FxAsync;
+import org.example.blog.util.ImageCache;
+import org.example.blog.util.ImageVariants;
+import org.example.blog.util.MediaStore;
 
-import javax.persistence.EntityManager;
 import java.io.File;
-import java.nio.file.*;
 import java.time.LocalDateTime;
 import java.util.Collections;
-import java.util.List;
 
 public class PostFormController implements MainChildController {
 
@@ -31,14 +33,18 @@ public class PostFormController implements MainChildController {
 
     @FXML private Label thumbnailFileLabel;
     @FXML private ImageView thumbnailPreview;
+    @FXML private ProgressIndicator thumbnailProgress;
 
     private final PostService postService = new PostService();
+    private final TopicService topicService = new TopicServiceImpl();
 
     private Post editingPost;
     private Runnable onSaveCallback;
     private MainController mainController;
 
     private String selectedThumbnailPath;
+    private String selectedCardPath;
+    private String selectedDetailPath;
 
     @Override
     public void setMainController(MainController mainController) {
@@ -59,18 +65,30 @@ public class PostFormController implements MainChildController {
     }
 
     private void loadTopicsFromDb() {
-        EntityManager em = JpaUtil.getEntityManager();
-        try {
-            List<Topic> topics = em.createQuery(
-                    "SELECT t FROM Topic t ORDER BY t.name", Topic.class
-            ).getResultList();
+        FxAsync.then(topicService.findAllTopicsAsync(), topics -> {
+            Topic selected = topicCombo.getSelectionModel().getSelectedItem();
             topicCombo.getItems().setAll(topics);
-        } catch (Exception e) {
+            // запись для редактирования могла прийти раньше списка тем
+            selectTopic(selected);
+        }, e -> {
             e.printStackTrace();
             topicCombo.getItems().setAll(Collections.emptyList());
-        } finally {
-            em.close();
+        });
+    }
+
+    // по id: темы из списка и тема записи — разные экземпляры
+    private void selectTopic(Topic topic) {
+        if (topic == null) {
+            topicCombo.getSelectionModel().clearSelection();
+            return;
+        }
+        for (Topic t : topicCombo.getItems()) {
+            if (t.getId() != null && t.getId().equals(topic.getId())) {
+                topicCombo.getSelectionModel().select(t);
+                return;
+            }
         }
+        topicCombo.getSelectionModel().select(topic);
     }
 
     public void setEditingPost(Post post) {
@@ -80,11 +98,7 @@ public class PostFormController implements MainChildController {
             titleField.setText(safeStr(post.getTitle()));
             contentArea.setText(safeStr(post.getContent()));
 
-            if (post.getTopic() != null) {
-                topicCombo.getSelectionModel().select(post.getTopic());
-            } else {
-                topicCombo.getSelectionModel().clearSelection();
-            }
+            selectTopic(post.getTopic());
 
             if (post.getStatus() != null) {
                 statusCombo.getSelectionModel().select(post.getStatus());
@@ -93,6 +107,8 @@ public class PostFormController implements MainChildController {
             }
 
             selectedThumbnailPath = post.getThumbnailUrl();
+            selectedCardPath = post.getThumbnailCardUrl();
+            selectedDetailPath = post.getThumbnailDetailUrl();
             updateThumbnailUI(selectedThumbnailPath);
 
             if (post.getCreatedAt() == null) {
@@ -102,6 +118,8 @@ public class PostFormController implements MainChildController {
             statusCombo.getSelectionModel().select(PostStatus.DRAFT);
             topicCombo.getSelectionModel().clearSelection();
             selectedThumbnailPath = null;
+            selectedCardPath = null;
+            selectedDetailPath = null;
             updateThumbnailUI(null);
         }
     }
@@ -121,25 +139,40 @@ public class PostFormController implements MainChildController {
         File file = chooser.showOpenDialog(thumbnailPreview.getScene().getWindow());
         if (file == null) return;
 
-        try {
-            Path destDir = Paths.get("images", "thumbnails");
-            Files.createDirectories(destDir);
-
-            String fileName = System.currentTimeMillis() + "_" + file.getName();
-            Path dest = destDir.resolve(fileName);
+        // копия и уменьшенные варианты — в фоне; сохранить запись можно после окончания
+        Task<ImageVariants.Stored> upload = ImageVariants.upload(file,
+                ImageVariants.Variant.CARD, ImageVariants.Variant.DETAIL);
 
-            Files.copy(file.toPath(), dest, StandardCopyOption.REPLACE_EXISTING);
+        thumbnailFileLabel.setText(file.getName());
+        thumbnailProgress.progressProperty().bind(upload.progressProperty());
+        showUploadProgress(true);
 
-            selectedThumbnailPath = dest.toAbsolutePath().toString();
+        upload.setOnSucceeded(e -> {
+            showUploadProgress(false);
+            ImageVariants.Stored stored = upload.getValue();
+            selectedThumbnailPath = stored.getOriginal();
+            selectedCardPath = stored.get(ImageVariants.Variant.CARD);
+            selectedDetailPath = stored.get(ImageVariants.Variant.DETAIL);
+            updateThumbnailUI(selectedThumbnailPath);
+            thumbnailFileLabel.setText(file.getName());
+        });
+        upload.setOnFailed(e -> {
+            showUploadProgress(false);
+            upload.getException().printStackTrace();
             updateThumbnailUI(selectedThumbnailPath);
-
-        } catch (Exception ex) {
-            ex.printStackTrace();
             showAlert(Alert.AlertType.ERROR,
                     "Ошибка",
                     "Не удалось сохранить изображение.",
-                    "Проверьте права доступа к папке images/thumbnails.");
-        }
+                    "Проверьте формат файла и права доступа к папке images/media.");
+        });
+        ImageVariants.start(upload);
+    }
+
+    private void showUploadProgress(boolean uploading) {
+        thumbnailProgress.setVisible(uploading);
+        thumbnailProgress.setManaged(uploading);
+        if (!uploading) thumbnailProgress.progressProperty().unbind();
+        saveButton.setDisable(uploading);
     }
 
     private void updateThumbnailUI(String storedPath) {
@@ -151,23 +184,19 @@ public class PostFormController implements MainChildController {
 
         thumbnailFileLabel.setText(shortFileName(storedPath));
 
-        String url;
-        if (storedPath.startsWith("http")) {
-            url = storedPath;
-        } else if (storedPath.startsWith("file:")) {
-            url = storedPath;
-        } else {
-            url = "file:" + storedPath;
-        }
-
+        // превью — из варианта для карточки, если он есть
+        String preview = selectedCardPath != null ? selectedCardPath : storedPath;
         try {
-            thumbnailPreview.setImage(new Image(url, true));
+            thumbnailPreview.setImage(ImageCache.getInstance().get(preview,
+                    thumbnailPreview.getFitWidth(), thumbnailPreview.getFitHeight()));
         } catch (Exception e) {
             thumbnailPreview.setImage(null);
         }
     }
 
     private String shortFileName(String path) {
+        // в хранилище имя — хэш содержимого
+        if (MediaStore.isRef(path)) return "Изображение сохранено";
         int idx = path.lastIndexOf(File.separatorChar);
         if (idx >= 0 && idx < path.length() - 1) {
             return path.substring(idx + 1);
@@ -224,25 +253,26 @@ public class PostFormController implements MainChildController {
         p.setContent(content.trim());
         p.setUpdatedAt(LocalDateTime.now());
         p.setThumbnailUrl(selectedThumbnailPath);
+        p.setThumbnailCardUrl(selectedCardPath);
+        p.setThumbnailDetailUrl(selectedDetailPath);
+
+        saveButton.setDisable(true);
+        FxAsync.then(postService.savePostAsync(p), v -> {
+            if (onSaveCallback != null) {
+                try {
+                    onSaveCallback.run();
+                } catch (Exception ignored) {}
+            }
 
-        try {
-            postService.savePost(p);
-        } catch (Exception e) {
+            navigateBackToBlogger();
+        }, e -> {
             e.printStackTrace();
+            saveButton.setDisable(false);
             showAlert(Alert.AlertType.ERROR,
                     "Ошибка",
                     "Не удалось сохранить запись.",
                     "Проверьте подключение к базе данных.");
-            return;
-        }
-
-        if (onSaveCallback != null) {
-            try {
-                onSaveCallback.run();
-            } catch (Exception ignored) {}
-        }
-
-        navigateBackToBlogger();
+        });
     }
 
     @FXML
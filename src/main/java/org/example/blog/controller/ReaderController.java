@@ -1,26 +1,29 @@
 package org.example.blog.controller;
 
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
 import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
-import javafx.scene.Node;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
-import javafx.scene.layout.HBox;
-import javafx.scene.layout.VBox;
-import org.example.blog.model.Post;
-import org.example.blog.model.PostStatus;
+import javafx.scene.layout.FlowPane;
+import javafx.util.Duration;
+import org.example.blog.dao.FeedCursor;
+import org.example.blog.dao.FeedPage;
+import org.example.blog.dao.FeedSort;
+import org.example.blog.dao.PostFilter;
+import org.example.blog.model.PostSummary;
 import org.example.blog.model.Topic;
 import org.example.blog.model.User;
+import org.example.blog.service.PostService;
+import org.example.blog.service.TopicService;
+import org.example.blog.service.TopicServiceImpl;
 import org.example.blog.session.Session;
-import org.example.blog.util.JpaUtil;
+import org.example.blog.util.FxAsync;
+import org.example.blog.util.SearchPipeline;
 
-import javax.persistence.EntityManager;
-import javax.persistence.TypedQuery;
-import java.net.URL;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 
 public class ReaderController implements MainChildController {
@@ -33,27 +36,56 @@ public class ReaderController implements MainChildController {
     }
 
     @FXML private TextField searchField;
-    @FXML private VBox postContainer;
-    @FXML private ComboBox<String> sortBox;
+    @FXML private ListView<PostSummary> postList;
+    @FXML private ComboBox<FeedSort> sortBox;
+    @FXML private Label resultCountLabel;
+    @FXML private FlowPane suggestionPane;
 
     @FXML private ComboBox<Topic> topicFilterBox;
     @FXML private TextField authorFilterField;
+    @FXML private TextField titleFilterField;
     @FXML private DatePicker fromDatePicker;
     @FXML private DatePicker toDatePicker;
     @FXML private TextField minViewsField;
     @FXML private TextField minCommentsField;
     @FXML private CheckBox onlySavedCheck;
 
-    private final DateTimeFormatter dateFormatter =
-            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+    /** За сколько карточек до конца списка начинать грузить следующую страницу. */
+    private static final int PREFETCH_DISTANCE = 5;
+
+    /** Пауза после последнего изменения поиска/фильтров, после которой запускается запрос. */
+    private static final Duration SEARCH_DEBOUNCE = Duration.millis(300);
+
+    private final PostService postService = new PostService();
+    private final TopicService topicService = new TopicServiceImpl();
+
+    // запросы ленты и поиска — в фоне, показывается только результат последнего
+    private final SearchPipeline pipeline = new SearchPipeline();
+    private final SearchPipeline countPipeline = new SearchPipeline();
+    private final SearchPipeline suggestPipeline = new SearchPipeline();
+    private final PauseTransition debounce = new PauseTransition(SEARCH_DEBOUNCE);
 
     private User currentUser;
 
+    // состояние ленты: текущий фильтр и курсор следующей страницы
+    private final ObservableList<PostSummary> posts = FXCollections.observableArrayList();
+    private PostFilter currentFilter;
+    private FeedSort currentSort;
+    private FeedCursor nextCursor;
+    // поиск по релевантности (без выбранной сортировки) листается по смещению, а не по курсору
+    private String searchKeyword;
+    private int searchOffset;
+    private boolean hasMore;
+    private boolean loadingPage;
+    private boolean pageRequested;
+
     @FXML
     private void initialize() {
         currentUser = Session.getCurrentUser();
         loadTopicsForFilter();
         setupSortBox();
+        setupFeedList();
+        setupLiveSearch();
         loadPosts();
     }
 
@@ -61,352 +93,282 @@ public class ReaderController implements MainChildController {
         handleResetFilter();
     }
 
-    private int safeInt(Integer v) {
-        return v != null ? v : 0;
-    }
-
     private void loadTopicsForFilter() {
-        EntityManager em = JpaUtil.getEntityManager();
-        try {
-            List<Topic> topics = em.createQuery(
-                    "SELECT t FROM Topic t ORDER BY t.name", Topic.class
-            ).getResultList();
-            topicFilterBox.setItems(FXCollections.observableArrayList(topics));
-        } catch (Exception e) {
-            e.printStackTrace();
-            topicFilterBox.setItems(FXCollections.observableArrayList());
-        } finally {
-            em.close();
-        }
+        // TopicDAO.findAll: из query cache, по имени
+        FxAsync.then(topicService.findAllTopicsAsync(),
+                topics -> topicFilterBox.setItems(FXCollections.observableArrayList(topics)),
+                e -> {
+                    e.printStackTrace();
+                    topicFilterBox.setItems(FXCollections.observableArrayList());
+                });
     }
 
     private void setupSortBox() {
-        sortBox.setItems(FXCollections.observableArrayList(
-                "Самые новые",
-                "Наиболее просматриваемые",
-                "Наиболее комментируемые"
-        ));
+        sortBox.setItems(FXCollections.observableArrayList(FeedSort.values()));
 
         sortBox.getSelectionModel().selectedItemProperty()
                 .addListener((o, a, b) -> refreshList());
     }
 
-    private void loadPosts() {
-        EntityManager em = JpaUtil.getEntityManager();
-        try {
-            TypedQuery<Post> query = em.createQuery(
-                    "SELECT p FROM Post p " +
-                            "JOIN FETCH p.author " +
-                            "JOIN FETCH p.topic " +
-                            "WHERE p.status = :status " +
-                            "ORDER BY p.createdAt DESC",
-                    Post.class
-            );
-            query.setParameter("status", PostStatus.PUBLISHED);
-
-            List<Post> posts = query.getResultList();
-            posts = applySortOrFavorite(posts);
-
-            showPosts(posts);
-        } catch (Exception e) {
-            e.printStackTrace();
-            showPosts(Collections.emptyList());
-        } finally {
-            em.close();
-        }
-    }
-
-    @FXML
-    private void handleSearch() {
-        String keyword = trim(searchField.getText());
-
-        EntityManager em = JpaUtil.getEntityManager();
-        try {
-            StringBuilder jpql = new StringBuilder(
-                    "SELECT p FROM Post p " +
-                            "JOIN FETCH p.author " +
-                            "JOIN FETCH p.topic " +
-                            "WHERE p.status = :status"
-            );
-
-            if (keyword != null) {
-                jpql.append(" AND (LOWER(p.title) LIKE :kw OR LOWER(p.content) LIKE :kw)");
-            }
-
-            jpql.append(" ORDER BY p.createdAt DESC");
-
-            TypedQuery<Post> query = em.createQuery(jpql.toString(), Post.class);
-            query.setParameter("status", PostStatus.PUBLISHED);
-
-            if (keyword != null) {
-                query.setParameter("kw", "%" + keyword.toLowerCase() + "%");
+    // Поиск по мере ввода: любое изменение поля поиска или фильтров перезапускает паузу
+    private void setupLiveSearch() {
+        debounce.setOnFinished(e -> refreshList());
+
+        ChangeListener<Object> restart = (o, a, b) -> debounce.playFromStart();
+        searchField.textProperty().addListener(restart);
+        authorFilterField.textProperty().addListener(restart);
+        titleFilterField.textProperty().addListener(restart);
+        minViewsField.textProperty().addListener(restart);
+        minCommentsField.textProperty().addListener(restart);
+        topicFilterBox.valueProperty().addListener(restart);
+        fromDatePicker.valueProperty().addListener(restart);
+        toDatePicker.valueProperty().addListener(restart);
+        onlySavedCheck.selectedProperty().addListener(restart);
+
+        // страницу закрыли — незачем дожидаться запроса
+        postList.sceneProperty().addListener((o, oldScene, newScene) -> {
+            if (newScene == null) {
+                debounce.stop();
+                pipeline.cancel();
+                countPipeline.cancel();
+                suggestPipeline.cancel();
             }
-
-            List<Post> posts = query.getResultList();
-            posts = applySortOrFavorite(posts);
-
-            showPosts(posts);
-        } catch (Exception e) {
-            e.printStackTrace();
-            showPosts(Collections.emptyList());
-        } finally {
-            em.close();
-        }
+        });
     }
 
-    @FXML
-    private void handleAdvancedFilter() {
-        String keyword = trim(searchField.getText());
-        Topic selectedTopic = topicFilterBox.getValue();
-        String authorName = trim(authorFilterField.getText());
-        LocalDate fromDate = fromDatePicker.getValue();
-        LocalDate toDate = toDatePicker.getValue();
-        Integer minViews = parseInt(minViewsField.getText());
-        Integer minComments = parseInt(minCommentsField.getText());
-        boolean onlySaved = onlySavedCheck.isSelected();
-
-        LocalDateTime fromDateTime = fromDate != null ? fromDate.atStartOfDay() : null;
-        LocalDateTime toDateTime = toDate != null ? toDate.plusDays(1).atStartOfDay() : null;
-
-        EntityManager em = JpaUtil.getEntityManager();
-        try {
-            StringBuilder jpql = new StringBuilder(
-                    "SELECT DISTINCT p FROM Post p " +
-                            "JOIN FETCH p.author " +
-                            "JOIN FETCH p.topic "
-            );
-
-            Map<String, Object> params = new HashMap<>();
-
-            if (onlySaved && currentUser != null && currentUser.getId() != null) {
-                jpql.append(" JOIN p.savedByUsers sp ");
-            }
-
-            jpql.append(" WHERE p.status = :status ");
-            params.put("status", PostStatus.PUBLISHED);
-
-            if (keyword != null) {
-                jpql.append(" AND (LOWER(p.title) LIKE :kw OR LOWER(p.content) LIKE :kw) ");
-                params.put("kw", "%" + keyword.toLowerCase() + "%");
-            }
-
-            if (selectedTopic != null && selectedTopic.getId() != null) {
-                jpql.append(" AND p.topic.id = :topicId ");
-                params.put("topicId", selectedTopic.getId());
-            }
-
-            if (authorName != null) {
-                jpql.append(" AND LOWER(p.author.fullName) LIKE :authorName ");
-                params.put("authorName", "%" + authorName.toLowerCase() + "%");
-            }
-
-            if (fromDateTime != null) {
-                jpql.append(" AND p.createdAt >= :fromDate ");
-                params.put("fromDate", fromDateTime);
-            }
-
-            if (toDateTime != null) {
-                jpql.append(" AND p.createdAt < :toDate ");
-                params.put("toDate", toDateTime);
-            }
-
-            if (minViews != null) {
-                jpql.append(" AND p.views >= :minViews ");
-                params.put("minViews", minViews);
-            }
-
-            if (minComments != null) {
-                jpql.append(" AND p.commentsCount >= :minComments ");
-                params.put("minComments", minComments);
-            }
-
-            if (onlySaved && currentUser != null && currentUser.getId() != null) {
-                jpql.append(" AND sp.user.id = :uid ");
-                params.put("uid", currentUser.getId());
-            }
-
-            jpql.append(" ORDER BY p.createdAt DESC ");
+    // ===== Лента с подгрузкой страниц =====
 
-            TypedQuery<Post> query = em.createQuery(jpql.toString(), Post.class);
-            params.forEach(query::setParameter);
+    private void setupFeedList() {
+        postList.setItems(posts);
+        postList.setCellFactory(lv -> new PostCardCell(this::openPostDetail, this::onCardShown));
 
-            List<Post> posts = query.getResultList();
-            posts = applySortOrFavorite(posts);
-
-            showPosts(posts);
+        Label empty = new Label("Нет записей для отображения.");
+        empty.getStyleClass().add("text-secondary");
+        postList.setPlaceholder(empty);
+    }
 
-        } catch (Exception e) {
-            e.printStackTrace();
-            showPosts(Collections.emptyList());
-        } finally {
-            em.close();
+    // показана одна из последних карточек — подгружаем следующую страницу
+    private void onCardShown(int index) {
+        if (hasMore && !loadingPage && !pageRequested && index >= posts.size() - PREFETCH_DISTANCE) {
+            pageRequested = true;
+            // не меняем items во время layout ячеек
+            Platform.runLater(() -> {
+                pageRequested = false;
+                loadNextPage();
+            });
         }
     }
 
-    private List<Post> applySortOrFavorite(List<Post> posts) {
-        if (posts == null || posts.size() <= 1) return posts;
-
-        if (sortBox.getSelectionModel() != null && !sortBox.getSelectionModel().isEmpty()) {
-            return applySort(posts);
-        }
-        return sortByFavorite(posts);
+    // сортировку делает БД; без явного выбора — избранные темы читателя первыми
+    private void startFeed(PostFilter filter) {
+        if (filter == null) filter = new PostFilter();
+        filter.setFavoriteTopicIds(favoriteTopicIds());
+
+        FeedSort selected = sortBox.getSelectionModel().getSelectedItem();
+        currentSort = selected != null ? selected : FeedSort.FAVORITES_FIRST;
+        currentFilter = filter;
+        nextCursor = null;
+        searchKeyword = null;
+        hasMore = true;
+        // предыдущий запрос будет отменён, его флаг больше не нужен
+        loadingPage = false;
+        loadNextPage();
+        loadResultCount(filter);
     }
 
-    private List<Post> applySort(List<Post> posts) {
-        List<Post> sorted = new ArrayList<>(posts);
-        String mode = sortBox.getSelectionModel().getSelectedItem();
-        if (mode == null) return sorted;
-
-        switch (mode) {
-            case "Наиболее просматриваемые":
-                sorted.sort((a, b) -> safeInt(b.getViews()) - safeInt(a.getViews()));
-                break;
-            case "Наиболее комментируемые":
-                sorted.sort((a, b) -> safeInt(b.getCommentsCount()) - safeInt(a.getCommentsCount()));
-                break;
-            default:
-                sorted.sort((a, b) -> {
-                    LocalDateTime d1 = a.getCreatedAt();
-                    LocalDateTime d2 = b.getCreatedAt();
-                    if (d1 == null) return 1;
-                    if (d2 == null) return -1;
-                    return d2.compareTo(d1);
+    // "Найдено: N" — отдельный COUNT с теми же условиями, не мешает загрузке страницы
+    private void loadResultCount(PostFilter filter) {
+        resultCountLabel.setText("");
+        hideSuggestions();
+        boolean capped = searchKeyword != null;
+        countPipeline.<Long>submit(
+                () -> postService.countPublished(filter),
+                n -> {
+                    resultCountLabel.setText(capped && n > PostService.SEARCH_SCROLL_LIMIT
+                            ? "Найдено: " + n + ", показаны первые " + PostService.SEARCH_SCROLL_LIMIT
+                            : "Найдено: " + n);
+                    if (n == 0) loadSuggestions(filter);
+                },
+                e -> {
+                    e.printStackTrace();
+                    resultCountLabel.setText("");
                 });
-        }
-        return sorted;
     }
 
-    private List<Post> sortByFavorite(List<Post> posts) {
-        if (currentUser == null || currentUser.getFavoriteTopics() == null) return posts;
-
-        Set<Long> favIds = new HashSet<>();
-        currentUser.getFavoriteTopics().forEach(t -> {
-            if (t.getId() != null) favIds.add(t.getId());
-        });
-
-        if (favIds.isEmpty()) return posts;
-
-        List<Post> fav = new ArrayList<>();
-        List<Post> other = new ArrayList<>();
+    // ничего не нашлось по автору / заголовку — похожие варианты (pg_trgm), клик подставляет в поле
+    private void loadSuggestions(PostFilter filter) {
+        String author = filter.getAuthorName();
+        String title = filter.getTitlePart();
+        if (author == null && title == null) return;
+
+        suggestPipeline.<Map<TextField, List<String>>>submit(
+                () -> {
+                    Map<TextField, List<String>> found = new LinkedHashMap<>();
+                    if (author != null) found.put(authorFilterField, postService.suggestAuthorNames(author));
+                    if (title != null) found.put(titleFilterField, postService.suggestTitles(title));
+                    return found;
+                },
+                this::showSuggestions,
+                Throwable::printStackTrace);
+    }
 
-        for (Post p : posts) {
-            if (p.getTopic() != null && p.getTopic().getId() != null && favIds.contains(p.getTopic().getId())) {
-                fav.add(p);
-            } else {
-                other.add(p);
-            }
-        }
+    private void showSuggestions(Map<TextField, List<String>> found) {
+        suggestionPane.getChildren().clear();
+        found.forEach((field, values) -> values.forEach(value -> {
+            Hyperlink link = new Hyperlink(value);
+            link.setOnAction(e -> {
+                field.setText(value);
+                handleAdvancedFilter();
+            });
+            suggestionPane.getChildren().add(link);
+        }));
+        if (suggestionPane.getChildren().isEmpty()) return;
+
+        Label caption = new Label("Возможно, вы имели в виду:");
+        caption.getStyleClass().add("text-secondary");
+        suggestionPane.getChildren().add(0, caption);
+        suggestionPane.setVisible(true);
+        suggestionPane.setManaged(true);
+    }
 
-        fav.addAll(other);
-        return fav;
+    private void hideSuggestions() {
+        suggestPipeline.cancel();
+        suggestionPane.getChildren().clear();
+        suggestionPane.setVisible(false);
+        suggestionPane.setManaged(false);
     }
 
-    private void showPosts(List<Post> posts) {
-        postContainer.getChildren().clear();
+    // старые карточки остаются на экране, пока не придёт первая страница нового запроса
+    private void loadNextPage() {
+        if (loadingPage || !hasMore) return;
 
-        if (posts == null || posts.isEmpty()) {
-            Label empty = new Label("Нет записей для отображения.");
-            empty.getStyleClass().add("text-secondary");
-            postContainer.getChildren().add(empty);
+        if (searchKeyword != null) {
+            loadNextSearchPage();
             return;
         }
 
-        for (Post p : posts) {
-            postContainer.getChildren().add(createPostCard(p));
-        }
+        loadingPage = true;
+        PostFilter filter = currentFilter;
+        FeedSort sort = currentSort;
+        FeedCursor after = nextCursor;
+
+        pipeline.<FeedPage<PostSummary>>submit(
+                () -> postService.getPublishedPage(filter, sort, after),
+                page -> {
+                    loadingPage = false;
+                    nextCursor = page.getNext();
+                    hasMore = page.hasMore();
+                    if (after == null) {
+                        posts.setAll(page.getItems());
+                        postList.scrollTo(0);
+                    } else {
+                        posts.addAll(page.getItems());
+                    }
+                },
+                e -> {
+                    e.printStackTrace();
+                    loadingPage = false;
+                    hasMore = false;
+                });
     }
 
-    private Node createPostCard(Post post) {
-        HBox root = new HBox(12);
-        root.getStyleClass().addAll("card", "post-card");
-
-        ImageView thumb = new ImageView();
-        thumb.getStyleClass().add("post-thumbnail");
-        thumb.setFitWidth(140);
-        thumb.setFitHeight(90);
-        thumb.setPreserveRatio(true);
-
-        // load image supports http/file/classpath
-        setImageSmart(thumb, post.getThumbnailUrl());
-
-        VBox textBox = new VBox(4);
-
-        String title = post.getTitle() != null ? post.getTitle() : "(без названия)";
-        Label titleLabel = new Label(title);
-        titleLabel.getStyleClass().add("post-title");
-        titleLabel.setWrapText(true);
-
-        String authorName = (post.getAuthor() != null && post.getAuthor().getFullName() != null)
-                ? post.getAuthor().getFullName()
-                : "(нет автора)";
-        String topicName = (post.getTopic() != null && post.getTopic().getName() != null)
-                ? post.getTopic().getName()
-                : "(без темы)";
-
-        String metaText = authorName + " | " + topicName + " | " + safeInt(post.getViews()) + " просмотров";
-        Label metaLabel = new Label(metaText);
-        metaLabel.getStyleClass().add("post-meta");
-
-        String dateText = post.getCreatedAt() != null ? post.getCreatedAt().format(dateFormatter) : "";
-        Label dateLabel = new Label(dateText);
-        dateLabel.getStyleClass().add("post-date");
-
-        textBox.getChildren().addAll(titleLabel, metaLabel, dateLabel);
-
-        root.getChildren().addAll(thumb, textBox);
-
-        root.setOnMouseClicked(e -> {
-            if (e.getClickCount() == 2) {
-                openPostDetail(post);
-            }
-        });
-
-        return root;
+    // +1 карточка, чтобы узнать, есть ли следующая страница
+    private void loadNextSearchPage() {
+        loadingPage = true;
+        String keyword = searchKeyword;
+        int offset = searchOffset;
+
+        pipeline.<List<PostSummary>>submit(
+                () -> postService.searchPublishedSummaries(keyword, offset, PostService.FEED_PAGE_SIZE + 1),
+                found -> {
+                    loadingPage = false;
+                    hasMore = found.size() > PostService.FEED_PAGE_SIZE;
+                    List<PostSummary> page = hasMore ? found.subList(0, PostService.FEED_PAGE_SIZE) : found;
+                    searchOffset = offset + page.size();
+                    if (offset == 0) {
+                        posts.setAll(page);
+                        postList.scrollTo(0);
+                    } else {
+                        posts.addAll(page);
+                    }
+                },
+                e -> {
+                    e.printStackTrace();
+                    loadingPage = false;
+                    hasMore = false;
+                    if (offset == 0) posts.clear();
+                });
     }
 
-    // ====== IMAGE HELPERS ======
-
-    private void setImageSmart(ImageView view, String path) {
-        Image img = loadImageSmart(path);
-        view.setImage(img);
+    private void loadPosts() {
+        startFeed(null);
     }
 
-    private Image loadImageSmart(String path) {
-        if (path == null || path.isBlank()) return null;
+    @FXML
+    private void handleSearch() {
+        debounce.stop();
+        String keyword = trim(searchField.getText());
+        if (keyword == null) {
+            loadPosts();
+            return;
+        }
 
-        try {
-            // 1) http/https
-            if (path.startsWith("http://") || path.startsWith("https://")) {
-                return new Image(path, true);
-            }
+        // явно выбранная сортировка важнее релевантности: обычная лента с условием по слову
+        if (!sortBox.getSelectionModel().isEmpty()) {
+            startFeed(PostFilter.keyword(keyword));
+            return;
+        }
 
-            // 2) classpath:/...
-            if (path.startsWith("classpath:")) {
-                String rel = path.substring("classpath:".length()); // "/images/..."
-                URL url = getClass().getResource(rel);
-                if (url != null) {
-                    return new Image(url.toExternalForm(), true);
-                }
-                return null;
-            }
+        // полнотекстовый поиск: самые релевантные первыми, с подгрузкой страниц
+        currentFilter = PostFilter.keyword(keyword);
+        searchKeyword = keyword;
+        searchOffset = 0;
+        nextCursor = null;
+        hasMore = true;
+        loadingPage = false;
+        loadNextPage();
+        loadResultCount(currentFilter);
+    }
 
-            // 3) file:...
-            if (path.startsWith("file:")) {
-                return new Image(path, true);
-            }
+    @FXML
+    private void handleAdvancedFilter() {
+        debounce.stop();
+        LocalDate fromDate = fromDatePicker.getValue();
+        LocalDate toDate = toDatePicker.getValue();
+        Topic selectedTopic = topicFilterBox.getValue();
 
-            // 4) plain local path
-            return new Image("file:" + path, true);
+        PostFilter filter = new PostFilter();
+        filter.setKeyword(trim(searchField.getText()));
+        filter.setTopicId(selectedTopic != null ? selectedTopic.getId() : null);
+        filter.setAuthorName(trim(authorFilterField.getText()));
+        filter.setTitlePart(trim(titleFilterField.getText()));
+        filter.setFrom(fromDate != null ? fromDate.atStartOfDay() : null);
+        filter.setTo(toDate != null ? toDate.plusDays(1).atStartOfDay() : null);
+        filter.setMinViews(parseInt(minViewsField.getText()));
+        filter.setMinComments(parseInt(minCommentsField.getText()));
+
+        if (onlySavedCheck.isSelected() && currentUser != null && currentUser.getId() != null) {
+            filter.setSavedByUserId(currentUser.getId());
+        }
 
-        } catch (Exception e) {
-            return null;
+        startFeed(filter);
+    }
+
+    private Set<Long> favoriteTopicIds() {
+        Set<Long> favIds = new HashSet<>();
+        if (currentUser != null && currentUser.getFavoriteTopics() != null) {
+            currentUser.getFavoriteTopics().forEach(t -> {
+                if (t.getId() != null) favIds.add(t.getId());
+            });
         }
+        return favIds;
     }
 
     private void refreshList() {
         boolean hasAdvancedFilter =
                 topicFilterBox.getValue() != null ||
                         trim(authorFilterField.getText()) != null ||
+                        trim(titleFilterField.getText()) != null ||
                         fromDatePicker.getValue() != null ||
                         toDatePicker.getValue() != null ||
                         trim(minViewsField.getText()) != null ||
@@ -440,9 +402,9 @@ public class ReaderController implements MainChildController {
         }
     }
 
-    private void openPostDetail(Post post) {
+    private void openPostDetail(PostSummary post) {
         if (mainController != null) {
-            mainController.openPostDetailPage(post);
+            mainController.openPostDetailPage(post.getId());
         }
     }
 
@@ -451,6 +413,7 @@ public class ReaderController implements MainChildController {
         searchField.clear();
         topicFilterBox.setValue(null);
         authorFilterField.clear();
+        titleFilterField.clear();
         fromDatePicker.setValue(null);
         toDatePicker.setValue(null);
         minViewsField.clear();
@@ -458,6 +421,8 @@ public class ReaderController implements MainChildController {
         onlySavedCheck.setSelected(false);
 
         sortBox.getSelectionModel().clearSelection();
+        // очистка полей выше перезапустила паузу — лента и так загружается сразу
+        debounce.stop();
         loadPosts();
     }
 }
@@ -8,12 +8,14 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
-import org.example.blog.dao.TopicDAO;
-import org.example.blog.dao.UserDaoImpl;
+import org.example.blog.dao.DaoFactory;
 import org.example.blog.model.Topic;
 import org.example.blog.model.User;
+import org.example.blog.service.TopicService;
+import org.example.blog.service.TopicServiceImpl;
 import org.example.blog.service.UserService;
 import org.example.blog.service.UserServiceImpl;
+import org.example.blog.util.FxAsync;
 
 import java.text.Collator;
 import java.util.*;
@@ -33,8 +35,8 @@ public class RegisterController {
     @FXML private ListView<Topic> topicListView;
     @FXML private Label messageLabel;
 
-    private final UserService userService = new UserServiceImpl(new UserDaoImpl());
-    private final TopicDAO topicDAO = new TopicDAO();
+    private final UserService userService = new UserServiceImpl(DaoFactory.userDao());
+    private final TopicService topicService = new TopicServiceImpl();
 
     // username: только [a-z0-9_.-], длина 4–20
     private static final Pattern USERNAME_PATTERN =
@@ -95,25 +97,21 @@ public class RegisterController {
 
     /** Загружает темы в ListView и настраивает отображение. */
     private void loadTopicsForListView() {
-        List<Topic> topics;
-        try {
-            topics = topicDAO.findAll();
-        } catch (Exception e) {
+        FxAsync.then(topicService.findAllTopicsAsync(), loaded -> {
+            List<Topic> topics = new ArrayList<>(loaded);
+            Locale ru = new Locale("ru");
+            Collator collator = Collator.getInstance(ru);
+            topics.sort((t1, t2) -> {
+                String n1 = t1.getName() != null ? t1.getName() : "";
+                String n2 = t2.getName() != null ? t2.getName() : "";
+                return collator.compare(n1, n2);
+            });
+            topicListView.getItems().setAll(topics);
+        }, e -> {
             e.printStackTrace();
-            topics = Collections.emptyList();
             messageLabel.setText("Не удалось загрузить темы из базы данных.");
-        }
-
-        Locale ru = new Locale("ru");
-        Collator collator = Collator.getInstance(ru);
-        topics.sort((t1, t2) -> {
-            String n1 = t1.getName() != null ? t1.getName() : "";
-            String n2 = t2.getName() != null ? t2.getName() : "";
-            return collator.compare(n1, n2);
         });
 
-        ObservableList<Topic> observableTopics = FXCollections.observableArrayList(topics);
-        topicListView.setItems(observableTopics);
         topicListView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
 
         topicListView.setCellFactory(lv -> {
@@ -168,22 +166,19 @@ public class RegisterController {
         Set<Topic> fav = new HashSet<>(selectedTopics);
         u.setFavoriteTopics(fav);
 
-        boolean ok;
-        try {
-            ok = userService.register(u);
-        } catch (Exception ex) {
+        messageLabel.setText("Регистрация…");
+        FxAsync.then(userService.registerAsync(u), ok -> {
+            if (!ok) {
+                messageLabel.setText("Имя пользователя уже существует.");
+                return;
+            }
+
+            messageLabel.setText("Регистрация прошла успешно! Сейчас вы будете перенаправлены на страницу входа...");
+            goBackToLogin();
+        }, ex -> {
             ex.printStackTrace();
             messageLabel.setText("Ошибка регистрации. Проверьте подключение к БД.");
-            return;
-        }
-
-        if (!ok) {
-            messageLabel.setText("Имя пользователя уже существует.");
-            return;
-        }
-
-        messageLabel.setText("Регистрация прошла успешно! Сейчас вы будете перенаправлены на страницу входа...");
-        goBackToLogin();
+        });
     }
 
     // КНОПКА "Уже есть аккаунт? Войти"
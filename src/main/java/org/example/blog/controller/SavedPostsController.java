@@ -4,28 +4,29 @@ import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import org.example.blog.model.Post;
+import org.example.blog.model.PostSummary;
 import org.example.blog.model.User;
+import org.example.blog.service.SavedPostService;
 import org.example.blog.session.Session;
-import org.example.blog.util.JpaUtil;
+import org.example.blog.util.FxAsync;
 
-import javax.persistence.EntityManager;
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
-import java.util.List;
 
 public class SavedPostsController implements MainChildController {
 
-    @FXML private TableView<Post> postTable;
+    @FXML private TableView<PostSummary> postTable;
 
-    @FXML private TableColumn<Post, String> colTitle;
-    @FXML private TableColumn<Post, String> colAuthor;
-    @FXML private TableColumn<Post, String> colTopic;
-    @FXML private TableColumn<Post, String> colCreatedAt;
+    @FXML private TableColumn<PostSummary, String> colTitle;
+    @FXML private TableColumn<PostSummary, String> colAuthor;
+    @FXML private TableColumn<PostSummary, String> colTopic;
+    @FXML private TableColumn<PostSummary, String> colCreatedAt;
 
     private final DateTimeFormatter dateFormatter =
             DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
 
+    private final SavedPostService savedPostService = new SavedPostService();
+
     private MainController mainController;
 
     @Override
@@ -45,23 +46,19 @@ public class SavedPostsController implements MainChildController {
         );
 
         colAuthor.setCellValueFactory(cell -> {
-            Post p = cell.getValue();
-            String authorName = (p != null && p.getAuthor() != null)
-                    ? safe(p.getAuthor().getFullName(), "(нет автора)")
-                    : "(нет автора)";
+            PostSummary p = cell.getValue();
+            String authorName = p != null ? safe(p.getAuthorName(), "(нет автора)") : "(нет автора)";
             return new SimpleStringProperty(authorName);
         });
 
         colTopic.setCellValueFactory(cell -> {
-            Post p = cell.getValue();
-            String topicName = (p != null && p.getTopic() != null)
-                    ? safe(p.getTopic().getName(), "(без темы)")
-                    : "(без темы)";
+            PostSummary p = cell.getValue();
+            String topicName = p != null ? safe(p.getTopicName(), "(без темы)") : "(без темы)";
             return new SimpleStringProperty(topicName);
         });
 
         colCreatedAt.setCellValueFactory(cell -> {
-            Post p = cell.getValue();
+            PostSummary p = cell.getValue();
             String text = (p != null && p.getCreatedAt() != null)
                     ? p.getCreatedAt().format(dateFormatter)
                     : "";
@@ -79,32 +76,13 @@ public class SavedPostsController implements MainChildController {
             return;
         }
 
-        EntityManager em = JpaUtil.getEntityManager();
-        try {
-            List<Post> posts = em.createQuery(
-                            "SELECT p FROM SavedPost sp " +
-                                    "JOIN sp.post p " +              
-                                    "JOIN FETCH p.author " +
-                                    "JOIN FETCH p.topic " +
-                                    "WHERE sp.user.id = :uid " +
-                                    "ORDER BY sp.savedAt DESC",
-                            Post.class
-                    )
-                    .setParameter("uid", current.getId())
-                    .getResultList();
-
-            postTable.setItems(FXCollections.observableArrayList(posts));
-        } catch (Exception e) {
-            e.printStackTrace();
-            postTable.setItems(FXCollections.observableArrayList(Collections.emptyList()));
-        } finally {
-            em.close();
-        }
+        FxAsync.loadInto(postTable, savedPostService.getSavedPostSummariesAsync(current),
+                Throwable::printStackTrace);
     }
 
     private void setupRowDoubleClick() {
         postTable.setRowFactory(tv -> {
-            TableRow<Post> row = new TableRow<>();
+            TableRow<PostSummary> row = new TableRow<>();
             row.setOnMouseClicked(event -> {
                 if (event.getClickCount() == 2 && !row.isEmpty()) {
                     openPostDetail(row.getItem());
@@ -114,16 +92,16 @@ public class SavedPostsController implements MainChildController {
         });
     }
 
-    private void openPostDetail(Post post) {
+    private void openPostDetail(PostSummary post) {
         if (post == null) return;
         if (mainController != null) {
-            mainController.openPostDetailPage(post);
+            mainController.openPostDetailPage(post.getId());
         }
     }
 
     @FXML
     private void handleUnsave() {
-        Post selected = postTable.getSelectionModel().getSelectedItem();
+        PostSummary selected = postTable.getSelectionModel().getSelectedItem();
         if (selected == null || selected.getId() == null) {
             showAlert(Alert.AlertType.INFORMATION,
                     "Информация",
@@ -148,35 +126,23 @@ public class SavedPostsController implements MainChildController {
         var res = confirm.showAndWait();
         if (res.isEmpty() || res.get() != ButtonType.OK) return;
 
-        EntityManager em = JpaUtil.getEntityManager();
-        try {
-            em.getTransaction().begin();
-            int deleted = em.createQuery(
-                            "DELETE FROM SavedPost sp WHERE sp.user.id = :uid AND sp.post.id = :pid"
-                    )
-                    .setParameter("uid", current.getId())
-                    .setParameter("pid", selected.getId())
-                    .executeUpdate();
-            em.getTransaction().commit();
-
-            if (deleted == 0) {
+        // через сервис: вместе с записью уменьшается posts.saved_count
+        FxAsync.then(savedPostService.unsaveAsync(selected.getId(), current), removed -> {
+            if (!removed) {
                 showAlert(Alert.AlertType.INFORMATION,
                         "Информация",
                         null,
                         "Запись уже была удалена из сохранённых.");
             }
-        } catch (Exception e) {
-            if (em.getTransaction().isActive()) em.getTransaction().rollback();
+            loadSavedPosts();
+        }, e -> {
             e.printStackTrace();
             showAlert(Alert.AlertType.ERROR,
                     "Ошибка",
                     null,
                     "Не удалось удалить запись из сохранённых.");
-        } finally {
-            em.close();
-        }
-
-        loadSavedPosts();
+            loadSavedPosts();
+        });
     }
 
     @FXML
@@ -7,4 +7,7 @@ import java.util.List;
 public interface CommentDao {
 
     List<Comment> findByPostId(Long postId);
+
+    /** Вставка пачки комментариев одной транзакцией (JDBC-батчи). Счётчики Post не меняются. */
+    void saveAll(List<Comment> comments);
 }
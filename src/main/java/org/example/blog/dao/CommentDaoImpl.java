@@ -1,9 +1,12 @@
 package org.example.blog.dao;
 
 import org.example.blog.model.Comment;
+import org.example.blog.model.Post;
+import org.example.blog.model.User;
 import org.example.blog.util.JpaUtil;
 
 import javax.persistence.EntityManager;
+import javax.persistence.EntityTransaction;
 import java.util.List;
 
 public class CommentDaoImpl implements CommentDao {
@@ -25,4 +28,43 @@ public class CommentDaoImpl implements CommentDao {
             em.close();
         }
     }
+
+    @Override
+    public void saveAll(List<Comment> comments) {
+        if (comments == null || comments.isEmpty()) return;
+
+        EntityManager em = JpaUtil.getEntityManager();
+        EntityTransaction tx = em.getTransaction();
+        try {
+            tx.begin();
+
+            int pending = 0;
+            for (Comment c : comments) {
+                Long postId = c.getPost() != null ? c.getPost().getId() : null;
+                Long authorId = c.getAuthor() != null ? c.getAuthor().getId() : null;
+                if (postId == null || authorId == null) continue;
+
+                Comment row = new Comment();
+                row.setPost(em.getReference(Post.class, postId));
+                row.setAuthor(em.getReference(User.class, authorId));
+                row.setContent(c.getContent());
+                if (c.getCreatedAt() != null) {
+                    row.setCreatedAt(c.getCreatedAt());
+                }
+                em.persist(row);
+
+                if (++pending % JpaUtil.BATCH_SIZE == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+
+            tx.commit();
+        } catch (Exception e) {
+            if (tx.isActive()) tx.rollback();
+            throw e;
+        } finally {
+            em.close();
+        }
+    }
 }
@@ -0,0 +1,22 @@
+package org.example.blog.dao;
+
+import java.util.List;
+
+/**
+ * Сверка счётчиков posts (comments_count, saved_count, views) с comments, saved_posts и журналом
+ * просмотров (post_views + дневные итоги post_view_daily).
+ */
+public interface CounterDao {
+
+    /** Следующая порция id записей: id > afterId по возрастанию, не больше limit. */
+    List<Long> findPostIdsAfter(long afterId, int limit);
+
+    /** Записи порции, у которых счётчики расходятся с таблицами. */
+    List<CounterDrift> findDrift(List<Long> postIds);
+
+    /**
+     * Пересчитать счётчики указанных записей в одном UPDATE (значения считаются в нём же,
+     * не берутся из findDrift); views только увеличиваются до числа строк в журнале.
+     */
+    int recount(List<Long> postIds);
+}
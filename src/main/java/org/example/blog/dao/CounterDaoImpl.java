@@ -0,0 +1,109 @@
+package org.example.blog.dao;
+
+import org.example.blog.model.Post;
+import org.example.blog.util.JpaUtil;
+import org.hibernate.Session;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityTransaction;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CounterDaoImpl implements CounterDao {
+
+    @Override
+    public List<Long> findPostIdsAfter(long afterId, int limit) {
+        EntityManager em = JpaUtil.getEntityManager();
+        try {
+            return em.createQuery(
+                            "SELECT p.id FROM Post p WHERE p.id > :afterId ORDER BY p.id", Long.class)
+                    .setParameter("afterId", afterId)
+                    .setMaxResults(limit)
+                    .getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
+    @Override
+    public List<CounterDrift> findDrift(List<Long> postIds) {
+        if (postIds == null || postIds.isEmpty()) return new ArrayList<>();
+
+        EntityManager em = JpaUtil.getEntityManager();
+        try {
+            // агрегаты только по id порции: по post_id в каждой таблице есть индекс
+            @SuppressWarnings("unchecked")
+            List<Object[]> rows = em.createNativeQuery(
+                            "SELECT p.id, p.comments_count, COALESCE(c.n, 0), p.saved_count, COALESCE(s.n, 0), " +
+                                    "p.views, COALESCE(v.n, 0) " +
+                                    "FROM posts p " +
+                                    "LEFT JOIN (SELECT post_id, COUNT(*) AS n FROM comments " +
+                                    "  WHERE post_id IN (:ids) GROUP BY post_id) c ON c.post_id = p.id " +
+                                    "LEFT JOIN (SELECT post_id, COUNT(*) AS n FROM saved_posts " +
+                                    "  WHERE post_id IN (:ids) GROUP BY post_id) s ON s.post_id = p.id " +
+                                    // журнал просмотров: сырые строки + свёрнутые в дневные итоги (V10)
+                                    "LEFT JOIN (SELECT post_id, SUM(n) AS n FROM (" +
+                                    "  SELECT post_id, COUNT(*) AS n FROM post_views " +
+                                    "  WHERE post_id IN (:ids) GROUP BY post_id " +
+                                    "  UNION ALL SELECT post_id, SUM(views) FROM post_view_daily " +
+                                    "  WHERE post_id IN (:ids) GROUP BY post_id) pv " +
+                                    "  GROUP BY post_id) v ON v.post_id = p.id " +
+                                    "WHERE p.id IN (:ids) " +
+                                    "AND (p.comments_count <> COALESCE(c.n, 0) " +
+                                    "  OR p.saved_count <> COALESCE(s.n, 0) " +
+                                    "  OR p.views < COALESCE(v.n, 0)) " +
+                                    "ORDER BY p.id")
+                    .setParameter("ids", postIds)
+                    .getResultList();
+
+            List<CounterDrift> drift = new ArrayList<>(rows.size());
+            for (Object[] r : rows) {
+                drift.add(new CounterDrift(((Number) r[0]).longValue(),
+                        ((Number) r[1]).intValue(), ((Number) r[2]).intValue(),
+                        ((Number) r[3]).intValue(), ((Number) r[4]).intValue(),
+                        ((Number) r[5]).intValue(), ((Number) r[6]).intValue()));
+            }
+            return drift;
+        } finally {
+            em.close();
+        }
+    }
+
+    @Override
+    public int recount(List<Long> postIds) {
+        if (postIds == null || postIds.isEmpty()) return 0;
+
+        EntityManager em = JpaUtil.getEntityManager();
+        EntityTransaction tx = em.getTransaction();
+        int[] updated = {0};
+        try {
+            tx.begin();
+            // через JDBC, как PostDaoImpl.addViews: native UPDATE из JPA сбросил бы весь кэш второго уровня
+            em.unwrap(Session.class).doWork(conn -> {
+                try (PreparedStatement ps = conn.prepareStatement(
+                        "UPDATE posts p SET " +
+                                "comments_count = (SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id)::int, " +
+                                "saved_count = (SELECT COUNT(*) FROM saved_posts s WHERE s.post_id = p.id)::int, " +
+                                "views = GREATEST(p.views, " +
+                                "  ((SELECT COUNT(*) FROM post_views v WHERE v.post_id = p.id) " +
+                                "  + (SELECT COALESCE(SUM(d.views), 0) FROM post_view_daily d WHERE d.post_id = p.id))::int) " +
+                                "WHERE p.id = ANY (?)")) {
+                    Array ids = conn.createArrayOf("bigint", postIds.toArray());
+                    ps.setArray(1, ids);
+                    updated[0] = ps.executeUpdate();
+                    ids.free();
+                }
+            });
+            tx.commit();
+        } catch (Exception e) {
+            if (tx.isActive()) tx.rollback();
+            throw e;
+        } finally {
+            em.close();
+        }
+        postIds.forEach(id -> JpaUtil.evict(Post.class, id));
+        return updated[0];
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.blog.dao;
+
+/**
+ * Расхождение денормализованных счётчиков записи с исходными таблицами:
+ * comments_count / comments, saved_count / saved_posts, views / post_views.
+ */
+public final class CounterDrift {
+
+    private final Long postId;
+    private final int storedComments;
+    private final int actualComments;
+    private final int storedSaved;
+    private final int actualSaved;
+    private final int storedViews;
+    private final int loggedViews;
+
+    public CounterDrift(Long postId, int storedComments, int actualComments, int storedSaved, int actualSaved,
+                        int storedViews, int loggedViews) {
+        this.postId = postId;
+        this.storedComments = storedComments;
+        this.actualComments = actualComments;
+        this.storedSaved = storedSaved;
+        this.actualSaved = actualSaved;
+        this.storedViews = storedViews;
+        this.loggedViews = loggedViews;
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public int getCommentsDrift() {
+        return actualComments - storedComments;
+    }
+
+    public int getSavedDrift() {
+        return actualSaved - storedSaved;
+    }
+
+    /** Просмотров в журнале больше, чем в счётчике (меньше — норма: гости в журнал не пишутся). */
+    public int getViewsDrift() {
+        return Math.max(0, loggedViews - storedViews);
+    }
+
+    @Override
+    public String toString() {
+        return "CounterDrift[post " + postId
+                + ", comments " + storedComments + "->" + actualComments
+                + ", saved " + storedSaved + "->" + actualSaved
+                + ", views " + storedViews + "/" + loggedViews + "]";
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.blog.dao;
+
+import org.example.blog.util.DaoMetrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+
+/**
+ * Единые экземпляры DAO. Реализации интерфейсов оборачиваются прокси,
+ * который замеряет каждый вызов (DaoMetrics); TopicDAO замеряет себя сам.
+ */
+public final class DaoFactory {
+
+    private static final PostDAO postDao = instrument(PostDAO.class, new PostDaoImpl());
+    private static final PostViewDao postViewDao = instrument(PostViewDao.class, new PostViewDaoImpl());
+    private static final SavedPostDao savedPostDao = instrument(SavedPostDao.class, new SavedPostDaoImpl());
+    private static final CommentDao commentDao = instrument(CommentDao.class, new CommentDaoImpl());
+    private static final UserDao userDao = instrument(UserDao.class, new UserDaoImpl());
+    private static final MediaRefDao mediaRefDao = instrument(MediaRefDao.class, new MediaRefDaoImpl());
+    private static final CounterDao counterDao = instrument(CounterDao.class, new CounterDaoImpl());
+    private static final PostViewPartitionDao postViewPartitionDao =
+            instrument(PostViewPartitionDao.class, new PostViewPartitionDaoImpl());
+    private static final TopicDAO topicDao = new TopicDAO();
+
+    private DaoFactory() {
+    }
+
+    public static PostDAO postDao() {
+        return postDao;
+    }
+
+    public static PostViewDao postViewDao() {
+        return postViewDao;
+    }
+
+    public static SavedPostDao savedPostDao() {
+        return savedPostDao;
+    }
+
+    public static CommentDao commentDao() {
+        return commentDao;
+    }
+
+    public static UserDao userDao() {
+        return userDao;
+    }
+
+    public static MediaRefDao mediaRefDao() {
+        return mediaRefDao;
+    }
+
+    public static CounterDao counterDao() {
+        return counterDao;
+    }
+
+    public static PostViewPartitionDao postViewPartitionDao() {
+        return postViewPartitionDao;
+    }
+
+    public static TopicDAO topicDao() {
+        return topicDao;
+    }
+
+    // Все DAO без состояния, так что прокси безопасно делить между потоками
+    static <T> T instrument(Class<T> type, T target) {
+        String prefix = type.getSimpleName() + ".";
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(target, args);
+            }
+            return DaoMetrics.measure(prefix + method.getName(), () -> {
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw sneaky(e.getCause());
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    // Пробрасываем исходное исключение DAO как есть, без обёртки
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> RuntimeException sneaky(Throwable e) throws E {
+        throw (E) e;
+    }
+}
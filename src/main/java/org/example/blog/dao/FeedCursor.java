@@ -0,0 +1,48 @@
+package org.example.blog.dao;
+
+import org.example.blog.model.PostSummary;
+
+import java.time.LocalDateTime;
+
+/**
+ * Позиция в ленте для keyset-пагинации: (sortKey, createdAt, id) последней показанной записи.
+ * sortKey — значение первого ключа сортировки (views, commentsCount, 1/0 для избранной темы),
+ * для FeedSort.NEWEST — null. Следующая страница — всё, что строго "после" этой тройки.
+ */
+public final class FeedCursor {
+
+    private final Integer sortKey;
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    public FeedCursor(LocalDateTime createdAt, Long id) {
+        this(null, createdAt, id);
+    }
+
+    public FeedCursor(Integer sortKey, LocalDateTime createdAt, Long id) {
+        this.sortKey = sortKey;
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public static FeedCursor after(PostSummary post) {
+        return new FeedCursor(post.getCreatedAt(), post.getId());
+    }
+
+    public Integer getSortKey() {
+        return sortKey;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return "FeedCursor[" + (sortKey != null ? sortKey + ", " : "") + createdAt + ", " + id + "]";
+    }
+}
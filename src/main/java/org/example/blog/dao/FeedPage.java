@@ -0,0 +1,27 @@
+package org.example.blog.dao;
+
+import java.util.List;
+
+/** Одна страница ленты и курсор для следующей (null — дальше записей нет). */
+public final class FeedPage<T> {
+
+    private final List<T> items;
+    private final FeedCursor next;
+
+    public FeedPage(List<T> items, FeedCursor next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public FeedCursor getNext() {
+        return next;
+    }
+
+    public boolean hasMore() {
+        return next != null;
+    }
+}
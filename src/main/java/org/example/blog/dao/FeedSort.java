@@ -0,0 +1,33 @@
+package org.example.blog.dao;
+
+/**
+ * Порядок ленты Reader. Сортирует БД (ORDER BY + keyset), а не контроллер,
+ * поэтому порядок сохраняется между страницами.
+ */
+public enum FeedSort {
+
+    NEWEST("Самые новые"),
+    // keyset по views, а views растут, пока читатель листает (сброс ViewCounter раз в несколько
+    // секунд, сверка CounterReconciler): запись, обогнавшая курсор, выпадет из следующих страниц,
+    // отставшая — покажется повторно. Для "самых популярных" это приемлемо, точный порядок не нужен
+    MOST_VIEWED("Наиболее просматриваемые"),
+    MOST_COMMENTED("Наиболее комментируемые"),
+    // записи из избранных тем читателя (PostFilter.favoriteTopicIds) первыми, внутри — новые первыми;
+    // ключ — CASE по списку тем, индекса под него нет: сортировка подходящих строк, затем LIMIT
+    FAVORITES_FIRST("Сначала избранные темы");
+
+    private final String label;
+
+    FeedSort(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
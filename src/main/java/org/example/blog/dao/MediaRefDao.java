@@ -0,0 +1,19 @@
+package org.example.blog.dao;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ссылки на файлы картинок из posts (обложка и её варианты) и users (аватар и варианты).
+ */
+public interface MediaRefDao {
+
+    /** Сколько раз встречается каждая ссылка media: (ссылок без файлов нет в карте). */
+    Map<String, Long> countMediaReferences();
+
+    /** Пути старого формата (абсолютные / file:), без http и classpath. */
+    List<String> findLegacyPaths();
+
+    /** Заменить путь во всех колонках картинок; сколько значений изменено. */
+    int replaceReference(String oldPath, String newRef);
+}
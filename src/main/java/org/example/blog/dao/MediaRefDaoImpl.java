@@ -0,0 +1,95 @@
+package org.example.blog.dao;
+
+import org.example.blog.util.JpaUtil;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityTransaction;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class MediaRefDaoImpl implements MediaRefDao {
+
+    // все колонки с картинками: {таблица, колонка}
+    private static final String[][] COLUMNS = {
+            {"posts", "thumbnail_url"},
+            {"posts", "thumbnail_card_url"},
+            {"posts", "thumbnail_detail_url"},
+            {"users", "avatar_url"},
+            {"users", "avatar_large_url"}
+    };
+
+    private static final String ALL_REFS;
+
+    static {
+        StringBuilder sb = new StringBuilder();
+        for (String[] c : COLUMNS) {
+            if (sb.length() > 0) sb.append(" UNION ALL ");
+            sb.append("SELECT ").append(c[1]).append(" AS ref FROM ").append(c[0]);
+        }
+        ALL_REFS = sb.toString();
+    }
+
+    @Override
+    public Map<String, Long> countMediaReferences() {
+        EntityManager em = JpaUtil.getEntityManager();
+        try {
+            @SuppressWarnings("unchecked")
+            List<Object[]> rows = em.createNativeQuery(
+                            "SELECT r.ref, COUNT(*) FROM (" + ALL_REFS + ") r " +
+                                    "WHERE r.ref LIKE 'media:%' GROUP BY r.ref")
+                    .getResultList();
+
+            Map<String, Long> counts = new HashMap<>();
+            for (Object[] row : rows) {
+                counts.put((String) row[0], ((Number) row[1]).longValue());
+            }
+            return counts;
+        } finally {
+            em.close();
+        }
+    }
+
+    @Override
+    public List<String> findLegacyPaths() {
+        EntityManager em = JpaUtil.getEntityManager();
+        try {
+            @SuppressWarnings("unchecked")
+            List<String> paths = em.createNativeQuery(
+                            "SELECT DISTINCT r.ref FROM (" + ALL_REFS + ") r " +
+                                    "WHERE r.ref <> '' AND r.ref NOT LIKE 'media:%' " +
+                                    "AND r.ref NOT LIKE 'http://%' AND r.ref NOT LIKE 'https://%' " +
+                                    "AND r.ref NOT LIKE 'classpath:%' " +
+                                    "ORDER BY r.ref")
+                    .getResultList();
+            return paths;
+        } finally {
+            em.close();
+        }
+    }
+
+    @Override
+    public int replaceReference(String oldPath, String newRef) {
+        EntityManager em = JpaUtil.getEntityManager();
+        EntityTransaction tx = em.getTransaction();
+        try {
+            tx.begin();
+            int updated = 0;
+            // native UPDATE без указания сущностей: Hibernate сбрасывает кэш второго уровня целиком
+            for (String[] c : COLUMNS) {
+                updated += em.createNativeQuery(
+                                "UPDATE " + c[0] + " SET " + c[1] + " = :newRef WHERE " + c[1] + " = :oldPath")
+                        .setParameter("newRef", newRef)
+                        .setParameter("oldPath", oldPath)
+                        .executeUpdate();
+            }
+            tx.commit();
+            return updated;
+        } catch (RuntimeException e) {
+            if (tx.isActive()) tx.rollback();
+            throw e;
+        } finally {
+            em.close();
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package org.example.blog.dao;
 
 import org.example.blog.model.Post;
+import org.example.blog.model.PostSummary;
 import org.example.blog.model.User;
 
 import java.util.List;
+import java.util.Map;
 
 public interface PostDAO {
 
@@ -19,10 +21,40 @@ public interface PostDAO {
 
     List<Post> findByAuthor(User author);
 
+    /** Прибавить просмотры: postId -> сколько; один батч UPDATE views = views + ?. Возвращает число строк. */
+    int addViews(Map<Long, Long> deltas);
+
+    // Список "Мои записи" (без content), новые первыми
+    List<PostSummary> findSummariesByAuthor(User author);
+
     // ===== Reader mode =====
     List<Post> findAllPublished();
 
-    List<Post> searchPublished(String keyword);
+    // Опубликованные записи по id (порядок не гарантирован)
+    List<Post> findByIds(List<Long> ids);
+
+    List<PostSummary> findSummariesByIds(List<Long> ids);
+
+    // Для построения поискового индекса: {id, title, content, createdAt} опубликованных, по id
+    List<Object[]> findPublishedText(Long afterId, int limit);
+
+    // Полнотекстовый поиск: id опубликованных по релевантности (ts_rank), не больше limit
+    List<Long> searchPublishedIds(String keyword, int limit);
+
+    /**
+     * Страница опубликованных записей в порядке sort (null — новые первыми),
+     * keyset по (ключ сортировки, createdAt, id).
+     * after == null — первая страница; filter == null — без условий.
+     */
+    FeedPage<PostSummary> findPublishedPage(PostFilter filter, FeedSort sort, FeedCursor after, int pageSize);
+
+    // Сколько всего опубликованных записей под фильтром (для "Найдено: N")
+    long countPublished(PostFilter filter);
+
+    // "Возможно, вы имели в виду": похожие (pg_trgm) имена авторов и заголовки опубликованных записей
+    List<String> suggestAuthorNames(String text, int limit);
+
+    List<String> suggestTitles(String text, int limit);
 
     // Dashboard / Statistics
 
@@ -2,16 +2,31 @@ package org.example.blog.dao;
 
 import org.example.blog.model.Post;
 import org.example.blog.model.PostStatus;
+import org.example.blog.model.PostSummary;
 import org.example.blog.model.User;
 import org.example.blog.util.JpaUtil;
+import org.hibernate.Session;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityTransaction;
 import javax.persistence.TypedQuery;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class PostDaoImpl implements PostDAO {
 
+    /**
+     * Проекция карточки для списков; алиасы: p — Post, a — автор, t — тема.
+     * Картинка — вариант для карточки, у старых записей — оригинал.
+     */
+    static final String SUMMARY =
+            "new org.example.blog.model.PostSummary(" +
+                    "p.id, p.title, a.id, a.fullName, t.id, t.name, " +
+                    "p.status, p.views, p.commentsCount, p.savedCount, " +
+                    "COALESCE(p.thumbnailCardUrl, p.thumbnailUrl), p.createdAt) ";
+
     // ===== CRUD =====
 
     @Override
@@ -53,6 +68,7 @@ public class PostDaoImpl implements PostDAO {
             throw e;
         } finally {
             em.close();
+            JpaUtil.evict(Post.class, post.getId());
         }
     }
 
@@ -72,7 +88,58 @@ public class PostDaoImpl implements PostDAO {
             throw e;
         } finally {
             em.close();
+            JpaUtil.evict(Post.class, post.getId());
+        }
+    }
+
+    @Override
+    public int addViews(Map<Long, Long> deltas) {
+        if (deltas == null || deltas.isEmpty()) return 0;
+
+        // по возрастанию id: параллельные сбросы блокируют строки в одном порядке
+        List<Long> ids = new ArrayList<>(deltas.keySet());
+        ids.sort(null);
+
+        EntityManager em = JpaUtil.getEntityManager();
+        EntityTransaction tx = em.getTransaction();
+        int[] updated = {0};
+        try {
+            tx.begin();
+            em.unwrap(Session.class).doWork(conn -> {
+                try (PreparedStatement ps = conn.prepareStatement(
+                        "UPDATE posts SET views = views + ? WHERE id = ?")) {
+                    int pending = 0;
+                    for (Long id : ids) {
+                        ps.setLong(1, deltas.get(id));
+                        ps.setLong(2, id);
+                        ps.addBatch();
+                        if (++pending % JpaUtil.BATCH_SIZE == 0) {
+                            updated[0] += sum(ps.executeBatch());
+                        }
+                    }
+                    if (pending % JpaUtil.BATCH_SIZE != 0) {
+                        updated[0] += sum(ps.executeBatch());
+                    }
+                }
+            });
+            tx.commit();
+        } catch (Exception e) {
+            if (tx.isActive()) tx.rollback();
+            throw e;
+        } finally {
+            em.close();
+        }
+        // UPDATE мимо Hibernate: устаревшие записи в кэше второго уровня
+        ids.forEach(id -> JpaUtil.evict(Post.class, id));
+        return updated[0];
+    }
+
+    private static int sum(int[] counts) {
+        int n = 0;
+        for (int c : counts) {
+            if (c > 0) n += c;
         }
+        return n;
     }
 
     @Override
@@ -93,6 +160,24 @@ public class PostDaoImpl implements PostDAO {
         }
     }
 
+    @Override
+    public List<PostSummary> findSummariesByAuthor(User author) {
+        EntityManager em = JpaUtil.getEntityManager();
+        try {
+            return em.createQuery(
+                            "SELECT " + SUMMARY +
+                                    "FROM Post p JOIN p.author a JOIN p.topic t " +
+                                    "WHERE a.id = :authorId " +
+                                    "ORDER BY p.createdAt DESC, p.id DESC",
+                            PostSummary.class
+                    )
+                    .setParameter("authorId", author.getId())
+                    .getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
     // ===== Reader =====
 
     @Override
@@ -115,27 +200,202 @@ public class PostDaoImpl implements PostDAO {
     }
 
     @Override
-    public List<Post> searchPublished(String keyword) {
+    public List<Post> findByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) return new ArrayList<>();
         EntityManager em = JpaUtil.getEntityManager();
         try {
-            TypedQuery<Post> q = em.createQuery(
-                    "SELECT p FROM Post p " +
-                            "JOIN FETCH p.author " +
-                            "JOIN FETCH p.topic " +
-                            "WHERE p.status = :status " +
-                            "AND (LOWER(p.title) LIKE LOWER(:kw) " +
-                            "     OR LOWER(p.content) LIKE LOWER(:kw)) " +
-                            "ORDER BY p.createdAt DESC",
-                    Post.class
-            );
-            q.setParameter("status", PostStatus.PUBLISHED);
-            q.setParameter("kw", "%" + keyword + "%");
-            return q.getResultList();
+            return em.createQuery(
+                            "SELECT p FROM Post p " +
+                                    "JOIN FETCH p.author " +
+                                    "JOIN FETCH p.topic " +
+                                    "WHERE p.id IN :ids AND p.status = :status",
+                            Post.class
+                    )
+                    .setParameter("ids", ids)
+                    .setParameter("status", PostStatus.PUBLISHED)
+                    .getResultList();
         } finally {
             em.close();
         }
     }
 
+    @Override
+    public List<PostSummary> findSummariesByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) return new ArrayList<>();
+        EntityManager em = JpaUtil.getEntityManager();
+        try {
+            return em.createQuery(
+                            "SELECT " + SUMMARY +
+                                    "FROM Post p JOIN p.author a JOIN p.topic t " +
+                                    "WHERE p.id IN :ids AND p.status = :status",
+                            PostSummary.class
+                    )
+                    .setParameter("ids", ids)
+                    .setParameter("status", PostStatus.PUBLISHED)
+                    .getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
+    @Override
+    public List<Object[]> findPublishedText(Long afterId, int limit) {
+        EntityManager em = JpaUtil.getEntityManager();
+        try {
+            return em.createQuery(
+                            "SELECT p.id, p.title, p.content, p.createdAt FROM Post p " +
+                                    "WHERE p.status = :status AND p.id > :afterId " +
+                                    "ORDER BY p.id",
+                            Object[].class
+                    )
+                    .setParameter("status", PostStatus.PUBLISHED)
+                    .setParameter("afterId", afterId != null ? afterId : 0L)
+                    .setMaxResults(limit)
+                    .getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
+    /** Полнотекстовый поиск (posts.search_vector, GIN): id лучших по ts_rank первыми. */
+    @Override
+    public List<Long> searchPublishedIds(String keyword, int limit) {
+        EntityManager em = JpaUtil.getEntityManager();
+        try {
+            return findRankedIds(em, keyword, limit);
+        } finally {
+            em.close();
+        }
+    }
+
+    private List<Long> findRankedIds(EntityManager em, String keyword, int limit) {
+        @SuppressWarnings("unchecked")
+        List<Number> rankedIds = em.createNativeQuery(
+                        "SELECT p.id FROM posts p " +
+                                "CROSS JOIN posts_search_query(:q) q " +
+                                "WHERE p.status = :status AND p.search_vector @@ q " +
+                                "ORDER BY ts_rank(p.search_vector, q) DESC, p.created_at DESC, p.id DESC " +
+                                "LIMIT :limit")
+                .setParameter("q", keyword)
+                .setParameter("status", PostStatus.PUBLISHED)
+                .setParameter("limit", limit)
+                .getResultList();
+
+        List<Long> ids = new ArrayList<>(rankedIds.size());
+        rankedIds.forEach(id -> ids.add(id.longValue()));
+        return ids;
+    }
+
+    @Override
+    public FeedPage<PostSummary> findPublishedPage(PostFilter filter, FeedSort sort,
+                                                   FeedCursor after, int pageSize) {
+        if (filter == null) filter = new PostFilter();
+        sort = effectiveSort(filter, sort);
+
+        EntityManager em = JpaUtil.getEntityManager();
+        try {
+            TypedQuery<PostSummary> q = em.createQuery(
+                    PostFilterQuery.page(filter, sort, after == null), PostSummary.class);
+            PostFilterQuery.bindFilter(q, filter);
+            PostFilterQuery.bindPage(q, filter, sort, after);
+            // +1 строка, чтобы узнать, есть ли следующая страница
+            q.setMaxResults(pageSize + 1);
+
+            List<PostSummary> rows = q.getResultList();
+            if (rows.size() <= pageSize) {
+                return new FeedPage<>(rows, null);
+            }
+            List<PostSummary> page = rows.subList(0, pageSize);
+            PostSummary last = page.get(pageSize - 1);
+            return new FeedPage<>(page,
+                    new FeedCursor(sortKeyOf(last, sort, filter), last.getCreatedAt(), last.getId()));
+        } finally {
+            em.close();
+        }
+    }
+
+    @Override
+    public long countPublished(PostFilter filter) {
+        if (filter == null) filter = new PostFilter();
+
+        EntityManager em = JpaUtil.getEntityManager();
+        try {
+            TypedQuery<Long> q = em.createQuery(PostFilterQuery.count(filter), Long.class);
+            PostFilterQuery.bindFilter(q, filter);
+            return q.getSingleResult();
+        } finally {
+            em.close();
+        }
+    }
+
+    @Override
+    public List<String> suggestAuthorNames(String text, int limit) {
+        EntityManager em = JpaUtil.getEntityManager();
+        try {
+            // <% (word_similarity выше порога) идёт по idx_users_full_name_trgm
+            @SuppressWarnings("unchecked")
+            List<String> names = em.createNativeQuery(
+                            "SELECT u.full_name FROM users u " +
+                                    "WHERE lower(:q) <% lower(u.full_name) " +
+                                    "AND EXISTS (SELECT 1 FROM posts p WHERE p.author_id = u.id AND p.status = :status) " +
+                                    "ORDER BY word_similarity(lower(:q), lower(u.full_name)) DESC, u.full_name " +
+                                    "LIMIT :limit")
+                    .setParameter("q", text)
+                    .setParameter("status", PostStatus.PUBLISHED)
+                    .setParameter("limit", limit)
+                    .getResultList();
+            return names;
+        } finally {
+            em.close();
+        }
+    }
+
+    @Override
+    public List<String> suggestTitles(String text, int limit) {
+        EntityManager em = JpaUtil.getEntityManager();
+        try {
+            // одинаковые заголовки — одной подсказкой; индекс — idx_posts_title_trgm
+            @SuppressWarnings("unchecked")
+            List<String> titles = em.createNativeQuery(
+                            "SELECT p.title FROM posts p " +
+                                    "WHERE p.status = :status AND lower(:q) <% lower(p.title) " +
+                                    "GROUP BY p.title " +
+                                    "ORDER BY max(word_similarity(lower(:q), lower(p.title))) DESC, p.title " +
+                                    "LIMIT :limit")
+                    .setParameter("q", text)
+                    .setParameter("status", PostStatus.PUBLISHED)
+                    .setParameter("limit", limit)
+                    .getResultList();
+            return titles;
+        } finally {
+            em.close();
+        }
+    }
+
+    // без избранных тем "избранные первыми" = "новые первыми" (и индекс по created_at работает)
+    private static FeedSort effectiveSort(PostFilter filter, FeedSort sort) {
+        if (sort == null) return FeedSort.NEWEST;
+        if (sort == FeedSort.FAVORITES_FIRST
+                && (filter.getFavoriteTopicIds() == null || filter.getFavoriteTopicIds().isEmpty())) {
+            return FeedSort.NEWEST;
+        }
+        return sort;
+    }
+
+    // значение того же ключа у последней записи страницы — для курсора
+    private static Integer sortKeyOf(PostSummary post, FeedSort sort, PostFilter filter) {
+        switch (sort) {
+            case MOST_VIEWED:
+                return post.getViews() != null ? post.getViews() : 0;
+            case MOST_COMMENTED:
+                return post.getCommentsCount() != null ? post.getCommentsCount() : 0;
+            case FAVORITES_FIRST:
+                return filter.getFavoriteTopicIds().contains(post.getTopicId()) ? 1 : 0;
+            default:
+                return null;
+        }
+    }
+
     // ===== Statistics =====
 
     @Override
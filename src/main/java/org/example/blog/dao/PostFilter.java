@@ -0,0 +1,137 @@
+package org.example.blog.dao;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Условия отбора опубликованных записей для ленты Reader
+ * (поиск, расширенный фильтр). Пустое поле (null) — без ограничения.
+ */
+public class PostFilter {
+
+    private String keyword;
+    private Long topicId;
+    private String authorName;
+    private String titlePart;         // подстрока заголовка
+    private LocalDateTime from;       // включительно
+    private LocalDateTime to;         // не включительно
+    private Integer minViews;
+    private Integer minComments;
+    private Long savedByUserId;       // только записи, сохранённые этим пользователем
+    private Collection<Long> postIds; // только эти записи (совпадения из поискового индекса)
+    private Collection<Long> favoriteTopicIds; // избранные темы читателя для FeedSort.FAVORITES_FIRST (не фильтр)
+
+    public PostFilter() {
+    }
+
+    public static PostFilter keyword(String keyword) {
+        PostFilter f = new PostFilter();
+        f.setKeyword(keyword);
+        return f;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    public void setKeyword(String keyword) {
+        this.keyword = keyword;
+    }
+
+    public Long getTopicId() {
+        return topicId;
+    }
+
+    public void setTopicId(Long topicId) {
+        this.topicId = topicId;
+    }
+
+    public String getAuthorName() {
+        return authorName;
+    }
+
+    public void setAuthorName(String authorName) {
+        this.authorName = authorName;
+    }
+
+    public String getTitlePart() {
+        return titlePart;
+    }
+
+    public void setTitlePart(String titlePart) {
+        this.titlePart = titlePart;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public Integer getMinViews() {
+        return minViews;
+    }
+
+    public void setMinViews(Integer minViews) {
+        this.minViews = minViews;
+    }
+
+    public Integer getMinComments() {
+        return minComments;
+    }
+
+    public void setMinComments(Integer minComments) {
+        this.minComments = minComments;
+    }
+
+    public Long getSavedByUserId() {
+        return savedByUserId;
+    }
+
+    public void setSavedByUserId(Long savedByUserId) {
+        this.savedByUserId = savedByUserId;
+    }
+
+    public Collection<Long> getPostIds() {
+        return postIds;
+    }
+
+    public void setPostIds(Collection<Long> postIds) {
+        this.postIds = postIds;
+    }
+
+    public Collection<Long> getFavoriteTopicIds() {
+        return favoriteTopicIds;
+    }
+
+    public void setFavoriteTopicIds(Collection<Long> favoriteTopicIds) {
+        this.favoriteTopicIds = favoriteTopicIds;
+    }
+
+    /** Копия фильтра (сервис подменяет keyword на postIds, не трогая фильтр контроллера). */
+    public PostFilter copy() {
+        PostFilter f = new PostFilter();
+        f.keyword = keyword;
+        f.topicId = topicId;
+        f.authorName = authorName;
+        f.titlePart = titlePart;
+        f.from = from;
+        f.to = to;
+        f.minViews = minViews;
+        f.minComments = minComments;
+        f.savedByUserId = savedByUserId;
+        f.postIds = postIds;
+        f.favoriteTopicIds = favoriteTopicIds;
+        return f;
+    }
+}
@@ -0,0 +1,170 @@
+package org.example.blog.dao;
+
+import org.example.blog.model.PostStatus;
+
+import javax.persistence.Query;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Запросы ленты Reader по PostFilter.
+ *
+ * В текст попадают только заданные условия фильтра, курсор — только со второй страницы.
+ * Условия вида (:anyX = true OR ...) PostgreSQL отбрасывает лишь в custom plan; после пяти
+ * выполнений драйвер переходит на generic plan, и там OR с параметром не даёт использовать
+ * индексы сортировки (V6) и триграммные (V7). Поэтому текстов столько, сколько встречается
+ * наборов условий: на набор — count и по странице на FeedSort (первая и следующие).
+ * IN-списки (:postIds, :favTopicIds) Hibernate дополняет до степени двойки
+ * (in_clause_parameter_padding в persistence.xml): 3 и 4 id дают один текст SQL, 5..8 — другой,
+ * так что вариантов на список — по логарифму его наибольшего размера, а не по каждому размеру.
+ *
+ * "Только сохранённые" — EXISTS по saved_posts, без JOIN + DISTINCT.
+ */
+final class PostFilterQuery {
+
+    // пустой список совпадений поиска: IN () недопустим, id = -1 не найдётся
+    private static final List<Long> NO_IDS = List.of(-1L);
+
+    private static final String FROM =
+            "FROM Post p JOIN p.author a JOIN p.topic t ";
+
+    /** Условия фильтра в порядке текста запроса. */
+    private enum Condition {
+        IDS("p.id IN :postIds",
+                f -> f.getPostIds() != null,
+                (q, f) -> q.setParameter("postIds", f.getPostIds().isEmpty() ? NO_IDS : f.getPostIds())),
+        KEYWORD("fts_match(p.id, :kw) = true",
+                f -> f.getKeyword() != null,
+                (q, f) -> q.setParameter("kw", f.getKeyword())),
+        TOPIC("t.id = :topicId",
+                f -> f.getTopicId() != null,
+                (q, f) -> q.setParameter("topicId", f.getTopicId())),
+        AUTHOR("LOWER(a.fullName) LIKE :authorName",
+                f -> f.getAuthorName() != null,
+                (q, f) -> q.setParameter("authorName", containsPattern(f.getAuthorName()))),
+        TITLE("LOWER(p.title) LIKE :titlePart",
+                f -> f.getTitlePart() != null,
+                (q, f) -> q.setParameter("titlePart", containsPattern(f.getTitlePart()))),
+        FROM_DATE("p.createdAt >= :fromDate",
+                f -> f.getFrom() != null,
+                (q, f) -> q.setParameter("fromDate", f.getFrom())),
+        TO_DATE("p.createdAt < :toDate",
+                f -> f.getTo() != null,
+                (q, f) -> q.setParameter("toDate", f.getTo())),
+        MIN_VIEWS("p.views >= :minViews",
+                f -> f.getMinViews() != null,
+                (q, f) -> q.setParameter("minViews", f.getMinViews())),
+        MIN_COMMENTS("p.commentsCount >= :minComments",
+                f -> f.getMinComments() != null,
+                (q, f) -> q.setParameter("minComments", f.getMinComments())),
+        SAVED_BY("EXISTS (SELECT sp.id FROM SavedPost sp WHERE sp.post = p AND sp.user.id = :uid)",
+                f -> f.getSavedByUserId() != null,
+                (q, f) -> q.setParameter("uid", f.getSavedByUserId()));
+
+        private final String jpql;
+        private final Predicate<PostFilter> active;
+        private final BiConsumer<Query, PostFilter> binder;
+
+        Condition(String jpql, Predicate<PostFilter> active, BiConsumer<Query, PostFilter> binder) {
+            this.jpql = jpql;
+            this.active = active;
+            this.binder = binder;
+        }
+    }
+
+    private static final String BY_DATE =
+            "(p.createdAt < :afterCreatedAt OR (p.createdAt = :afterCreatedAt AND p.id < :afterId))";
+
+    // ключ — набор условий (биты Condition.ordinal), для page ещё FeedSort и первая/следующая страница
+    private static final Map<Integer, String> COUNT = new ConcurrentHashMap<>();
+    private static final Map<Integer, String> PAGE = new ConcurrentHashMap<>();
+
+    private PostFilterQuery() {
+    }
+
+    static String count(PostFilter f) {
+        return COUNT.computeIfAbsent(activeMask(f), mask -> "SELECT COUNT(p) " + FROM + where(mask));
+    }
+
+    static String page(PostFilter f, FeedSort sort, boolean firstPage) {
+        int key = (activeMask(f) * FeedSort.values().length + sort.ordinal()) * 2 + (firstPage ? 1 : 0);
+        return PAGE.computeIfAbsent(key, k -> {
+            String sortKey = sortKeyExpression(sort);
+            StringBuilder jpql = new StringBuilder("SELECT ").append(PostDaoImpl.SUMMARY)
+                    .append(FROM).append(where(activeMask(f)));
+            if (!firstPage) {
+                jpql.append("AND ").append(sortKey == null
+                        ? BY_DATE
+                        : "(" + sortKey + " < :afterKey OR (" + sortKey + " = :afterKey AND " + BY_DATE + "))")
+                        .append(' ');
+            }
+            jpql.append("ORDER BY ");
+            if (sortKey != null) jpql.append(sortKey).append(" DESC, ");
+            return jpql.append("p.createdAt DESC, p.id DESC").toString();
+        });
+    }
+
+    private static int activeMask(PostFilter f) {
+        int mask = 0;
+        for (Condition c : Condition.values()) {
+            if (c.active.test(f)) mask |= 1 << c.ordinal();
+        }
+        return mask;
+    }
+
+    private static String where(int mask) {
+        StringBuilder where = new StringBuilder("WHERE p.status = :status ");
+        for (Condition c : Condition.values()) {
+            if ((mask & (1 << c.ordinal())) != 0) where.append("AND ").append(c.jpql).append(' ');
+        }
+        return where.toString();
+    }
+
+    /** Первый ключ сортировки (перед createdAt, id); индексы — V6__feed_sort_indexes.sql. */
+    static String sortKeyExpression(FeedSort sort) {
+        switch (sort) {
+            case MOST_VIEWED:
+                return "p.views";
+            case MOST_COMMENTED:
+                return "p.commentsCount";
+            case FAVORITES_FIRST:
+                return "(CASE WHEN t.id IN :favTopicIds THEN 1 ELSE 0 END)";
+            default:
+                return null;
+        }
+    }
+
+    /** Параметры заданных условий фильтра (для page и count). */
+    static void bindFilter(Query q, PostFilter f) {
+        q.setParameter("status", PostStatus.PUBLISHED);
+        for (Condition c : Condition.values()) {
+            if (c.active.test(f)) c.binder.accept(q, f);
+        }
+    }
+
+    // '%подстрока%' для LIKE по lower(...) (триграммные индексы V7); % и _ из ввода — буквально
+    private static String containsPattern(String text) {
+        String escaped = text.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    /** Курсор (со второй страницы) и избранные темы (только для page). */
+    static void bindPage(Query q, PostFilter f, FeedSort sort, FeedCursor after) {
+        if (after != null) {
+            q.setParameter("afterCreatedAt", after.getCreatedAt());
+            q.setParameter("afterId", after.getId());
+            if (sort != FeedSort.NEWEST) {
+                q.setParameter("afterKey", after.getSortKey() != null ? after.getSortKey() : 0);
+            }
+        }
+        if (sort == FeedSort.FAVORITES_FIRST) {
+            q.setParameter("favTopicIds", f.getFavoriteTopicIds());
+        }
+    }
+}
@@ -4,16 +4,31 @@ import org.example.blog.model.PostView;
 import org.example.blog.model.User;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface PostViewDao {
     void save(PostView view);
 
+    /** Вставка пачки просмотров одной транзакцией (JDBC-батчи). */
+    void saveAll(List<PostView> views);
+
+    /** Какие из id ещё есть в posts — отбраковать пачку, которую не пропустил внешний ключ. */
+    Set<Long> findExistingPostIds(Collection<Long> postIds);
+
+    /** То же для users. */
+    Set<Long> findExistingUserIds(Collection<Long> userIds);
+
+    /** Все просмотры читателя, включая свёрнутые в post_view_daily. */
     long countByUser(User user);
 
+    /** Object[]{LocalDate день, Long просмотров} за дни from..to включительно, по возрастанию дня. */
     List<Object[]> countDailyViews(User user, LocalDate from, LocalDate to);
 
+    /** Дни from..to, в которые читатель что-то смотрел, по возрастанию. */
     List<LocalDate> findDistinctViewDates(User user, LocalDate from, LocalDate to);
 
+    /** Object[]{String тема, Long просмотров}. */
     List<Object[]> countByTopicForUser(User user);
 }
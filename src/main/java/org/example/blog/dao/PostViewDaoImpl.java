@@ -7,10 +7,13 @@ import org.example.blog.util.JpaUtil;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityTransaction;
-import javax.persistence.TypedQuery;
+import java.sql.Date;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class PostViewDaoImpl implements PostViewDao {
 
@@ -54,80 +57,151 @@ public class PostViewDaoImpl implements PostViewDao {
     }
 
     @Override
-    public long countByUser(User user) {
+    public void saveAll(List<PostView> views) {
+        if (views == null || views.isEmpty()) return;
+
         EntityManager em = JpaUtil.getEntityManager();
+        EntityTransaction tx = em.getTransaction();
         try {
-            return em.createQuery(
-                            "SELECT COUNT(v) FROM PostView v WHERE v.user = :user",
-                            Long.class
-                    )
-                    .setParameter("user", user)
-                    .getSingleResult();
+            tx.begin();
+
+            int pending = 0;
+            for (PostView view : views) {
+                Long postId = view.getPost() != null ? view.getPost().getId() : null;
+                Long userId = view.getUser() != null ? view.getUser().getId() : null;
+                if (postId == null || userId == null) continue;
+
+                // getReference: без SELECT на каждую строку, нужен только FK
+                PostView row = new PostView();
+                row.setPost(em.getReference(Post.class, postId));
+                row.setUser(em.getReference(User.class, userId));
+                if (view.getViewedAt() != null) {
+                    row.setViewedAt(view.getViewedAt());
+                }
+                em.persist(row);
+
+                if (++pending % JpaUtil.BATCH_SIZE == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+
+            tx.commit();
+        } catch (Exception e) {
+            if (tx.isActive()) tx.rollback();
+            throw e;
         } finally {
             em.close();
         }
     }
 
     @Override
-    public List<Object[]> countDailyViews(User user, LocalDate from, LocalDate to) {
+    public Set<Long> findExistingPostIds(Collection<Long> postIds) {
+        return findExistingIds("SELECT p.id FROM Post p WHERE p.id IN :ids", postIds);
+    }
+
+    @Override
+    public Set<Long> findExistingUserIds(Collection<Long> userIds) {
+        return findExistingIds("SELECT u.id FROM User u WHERE u.id IN :ids", userIds);
+    }
+
+    private Set<Long> findExistingIds(String jpql, Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) return new HashSet<>();
+
         EntityManager em = JpaUtil.getEntityManager();
         try {
-            // trả về Object[]{ LocalDateTime viewedAt, Long count } kiểu đơn giản
-            // (Bạn đang xử lý group trong Java ở DashboardService, nên method này có thể không dùng.)
-            TypedQuery<Object[]> q = em.createQuery(
-                    "SELECT v.viewedAt, COUNT(v) " +
-                            "FROM PostView v " +
-                            "WHERE v.user = :user AND v.viewedAt BETWEEN :from AND :to " +
-                            "GROUP BY v.viewedAt",
-                    Object[].class
-            );
-            q.setParameter("user", user);
-            q.setParameter("from", from.atStartOfDay());
-            q.setParameter("to", to.plusDays(1).atStartOfDay());
-            return q.getResultList();
+            return new HashSet<>(em.createQuery(jpql, Long.class)
+                    .setParameter("ids", ids)
+                    .getResultList());
         } finally {
             em.close();
         }
     }
 
+    // Просмотры старше срока хранения лежат в post_view_daily (PostViewPartitionMaintainer),
+    // поэтому каждый запрос складывает сырые строки и дневные итоги. Условия по viewed_at —
+    // полуинтервалы [from, to): PostgreSQL отсекает секции post_views вне диапазона.
+
     @Override
-    public List<LocalDate> findDistinctViewDates(User user, LocalDate from, LocalDate to) {
+    public long countByUser(User user) {
         EntityManager em = JpaUtil.getEntityManager();
         try {
-            TypedQuery<LocalDateTime> q = em.createQuery(
-                    "SELECT v.viewedAt FROM PostView v " +
-                            "WHERE v.user = :user AND v.viewedAt BETWEEN :from AND :to",
-                    LocalDateTime.class
-            );
-            q.setParameter("user", user);
-            q.setParameter("from", from.atStartOfDay());
-            q.setParameter("to", to.plusDays(1).atStartOfDay());
-
-            return q.getResultList().stream()
-                    .map(LocalDateTime::toLocalDate)
-                    .distinct()
-                    .sorted()
-                    .toList();
+            Number n = (Number) em.createNativeQuery(
+                            "SELECT (SELECT COUNT(*) FROM post_views WHERE user_id = :userId) " +
+                                    "+ (SELECT COALESCE(SUM(views), 0) FROM post_view_daily WHERE user_id = :userId)")
+                    .setParameter("userId", user.getId())
+                    .getSingleResult();
+            return n.longValue();
         } finally {
             em.close();
         }
     }
 
+    @Override
+    public List<Object[]> countDailyViews(User user, LocalDate from, LocalDate to) {
+        EntityManager em = JpaUtil.getEntityManager();
+        try {
+            @SuppressWarnings("unchecked")
+            List<Object[]> rows = em.createNativeQuery(
+                            "SELECT d, SUM(n) FROM (" +
+                                    "  SELECT CAST(viewed_at AS date) AS d, COUNT(*) AS n FROM post_views " +
+                                    "  WHERE user_id = :userId AND viewed_at >= :from AND viewed_at < :to " +
+                                    "  GROUP BY 1 " +
+                                    "  UNION ALL " +
+                                    "  SELECT view_date, SUM(views) FROM post_view_daily " +
+                                    "  WHERE user_id = :userId AND view_date >= :fromDate AND view_date < :toDate " +
+                                    "  GROUP BY 1" +
+                                    ") t GROUP BY d ORDER BY d")
+                    .setParameter("userId", user.getId())
+                    .setParameter("from", from.atStartOfDay())
+                    .setParameter("to", to.plusDays(1).atStartOfDay())
+                    .setParameter("fromDate", from)
+                    .setParameter("toDate", to.plusDays(1))
+                    .getResultList();
+
+            List<Object[]> result = new ArrayList<>(rows.size());
+            for (Object[] r : rows) {
+                result.add(new Object[]{((Date) r[0]).toLocalDate(), ((Number) r[1]).longValue()});
+            }
+            return result;
+        } finally {
+            em.close();
+        }
+    }
+
+    @Override
+    public List<LocalDate> findDistinctViewDates(User user, LocalDate from, LocalDate to) {
+        List<LocalDate> dates = new ArrayList<>();
+        for (Object[] row : countDailyViews(user, from, to)) {
+            dates.add((LocalDate) row[0]);
+        }
+        return dates;
+    }
+
     @Override
     public List<Object[]> countByTopicForUser(User user) {
         EntityManager em = JpaUtil.getEntityManager();
         try {
-            TypedQuery<Object[]> q = em.createQuery(
-                    "SELECT t.name, COUNT(v) " +
-                            "FROM PostView v " +
-                            "JOIN v.post p " +
-                            "JOIN p.topic t " +
-                            "WHERE v.user = :user " +
-                            "GROUP BY t.name",
-                    Object[].class
-            );
-            q.setParameter("user", user);
-            return q.getResultList();
+            @SuppressWarnings("unchecked")
+            List<Object[]> rows = em.createNativeQuery(
+                            "SELECT t.name, SUM(x.n) FROM (" +
+                                    "  SELECT post_id, COUNT(*) AS n FROM post_views WHERE user_id = :userId " +
+                                    "  GROUP BY post_id " +
+                                    "  UNION ALL " +
+                                    "  SELECT post_id, SUM(views) FROM post_view_daily WHERE user_id = :userId " +
+                                    "  GROUP BY post_id" +
+                                    ") x " +
+                                    "JOIN posts p ON p.id = x.post_id " +
+                                    "JOIN topics t ON t.id = p.topic_id " +
+                                    "GROUP BY t.name")
+                    .setParameter("userId", user.getId())
+                    .getResultList();
+
+            List<Object[]> result = new ArrayList<>(rows.size());
+            for (Object[] r : rows) {
+                result.add(new Object[]{r[0], ((Number) r[1]).longValue()});
+            }
+            return result;
         } finally {
             em.close();
         }
@@ -0,0 +1,35 @@
+package org.example.blog.dao;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Месячные секции post_views (V10) и свёртка старых месяцев в post_view_daily.
+ */
+public interface PostViewPartitionDao {
+
+    /**
+     * Месяцы, для которых есть секции, по возрастанию (DEFAULT не входит);
+     * включая отсоединённые, но ещё не удалённые.
+     */
+    List<YearMonth> findMonthlyPartitions();
+
+    /**
+     * Создать секцию месяца, если её нет; строки этого месяца, попавшие в DEFAULT, переносятся в неё.
+     * false — секция уже была.
+     */
+    boolean createMonthlyPartition(YearMonth month);
+
+    /**
+     * Отсоединить секцию месяца, свернуть её просмотры в дневные итоги post_view_daily и удалить;
+     * возвращает число свёрнутых строк.
+     */
+    long rollupAndDropPartition(YearMonth month);
+
+    /**
+     * Свернуть в post_view_daily и удалить строки DEFAULT старше before (месяцы без секций,
+     * поздние записи в уже удалённые месяцы); возвращает число свёрнутых строк.
+     */
+    long rollupDefaultBefore(LocalDate before);
+}
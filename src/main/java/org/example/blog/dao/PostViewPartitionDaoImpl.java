@@ -0,0 +1,205 @@
+package org.example.blog.dao;
+
+import org.example.blog.util.JpaUtil;
+import org.hibernate.Session;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityTransaction;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class PostViewPartitionDaoImpl implements PostViewPartitionDao {
+
+    private static final String PARENT = "post_views";
+    private static final String DEFAULT_PARTITION = "post_views_default";
+    private static final String COLUMNS = "id, viewed_at, post_id, user_id";
+
+    // ATTACH / DETACH ждут блокировку родителя не дольше, иначе за ними встают все вставки
+    private static final String LOCK_TIMEOUT = "SET LOCAL lock_timeout = '5s'";
+
+    private static final String ADD_TO_DAILY = "ON CONFLICT (user_id, view_date, post_id) " +
+            "DO UPDATE SET views = post_view_daily.views + EXCLUDED.views";
+
+    // имя секции как в V10: post_views_2025_03
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final Pattern PARTITION_NAME = Pattern.compile("post_views_(\\d{4})_(\\d{2})");
+
+    private static String partitionName(YearMonth month) {
+        return PARENT + "_" + month.format(SUFFIX);
+    }
+
+    @Override
+    public List<YearMonth> findMonthlyPartitions() {
+        return inTransaction(conn -> {
+            List<YearMonth> months = new ArrayList<>();
+            // по имени, а не по pg_inherits: видна и секция, отсоединённая, но не удалённая из-за сбоя
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "SELECT c.relname FROM pg_class c " +
+                            "WHERE c.relnamespace = CAST(current_schema() AS regnamespace) " +
+                            "AND c.relkind = 'r' AND c.relname LIKE ?")) {
+                ps.setString(1, PARENT + "_%");
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        Matcher m = PARTITION_NAME.matcher(rs.getString(1));
+                        if (m.matches()) {
+                            months.add(YearMonth.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2))));
+                        }
+                    }
+                }
+            }
+            months.sort(null);
+            return months;
+        });
+    }
+
+    @Override
+    public boolean createMonthlyPartition(YearMonth month) {
+        String name = partitionName(month);
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+
+        return inTransaction(conn -> {
+            if (exists(conn, name)) return false;
+
+            // CREATE + ATTACH, а не CREATE ... PARTITION OF: на родителе ATTACH берёт SHARE UPDATE EXCLUSIVE
+            // (PG12+; в PG11 — ACCESS EXCLUSIVE), но DEFAULT блокирует ACCESS EXCLUSIVE и просматривает
+            // целиком — на это время вставки вне секций ждут. Секции создаются наперёд, DEFAULT обычно пуст.
+            // Индексы и внешние ключи секция получает от родителя
+            try (Statement st = conn.createStatement()) {
+                st.execute("CREATE TABLE " + name + " (LIKE " + PARENT + " INCLUDING DEFAULTS)");
+            }
+            // строки месяца в DEFAULT помешали бы ATTACH — переносим их в новую таблицу
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "WITH moved AS (DELETE FROM " + DEFAULT_PARTITION +
+                            " WHERE viewed_at >= ? AND viewed_at < ? RETURNING " + COLUMNS + ") " +
+                            "INSERT INTO " + name + " (" + COLUMNS + ") SELECT " + COLUMNS + " FROM moved")) {
+                ps.setObject(1, from.atStartOfDay());
+                ps.setObject(2, to.atStartOfDay());
+                ps.executeUpdate();
+            }
+            try (Statement st = conn.createStatement()) {
+                // не ставить вставки в очередь за долгим чтением дашборда — лучше повторить завтра
+                st.execute(LOCK_TIMEOUT);
+                st.execute("ALTER TABLE " + PARENT + " ATTACH PARTITION " + name +
+                        " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+            }
+            return true;
+        });
+    }
+
+    @Override
+    public long rollupAndDropPartition(YearMonth month) {
+        String name = partitionName(month);
+
+        // 1. DETACH отдельной короткой транзакцией. Он берёт ACCESS EXCLUSIVE сначала на родителе,
+        // потом на секции — в том же порядке, что и вставки через post_views, взаимной блокировки нет;
+        // держится он только на время DETACH, а не всей свёртки. После него секцию никто не пишет,
+        // поздние строки этого месяца уходят в DEFAULT (их сворачивает rollupDefaultBefore)
+        boolean found = inTransaction(conn -> {
+            if (!exists(conn, name)) return false;
+            if (isAttached(conn, name)) {
+                try (Statement st = conn.createStatement()) {
+                    st.execute(LOCK_TIMEOUT);
+                    st.execute("ALTER TABLE " + PARENT + " DETACH PARTITION " + name);
+                }
+            }
+            return true;
+        });
+        if (!found) return 0L;
+
+        // 2. Свёртка и DROP отсоединённой таблицы; сбой здесь — следующий проход начнёт отсюда
+        return inTransaction(conn -> {
+            try (Statement st = conn.createStatement()) {
+                long rows;
+                try (ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM " + name)) {
+                    rs.next();
+                    rows = rs.getLong(1);
+                }
+
+                // месяц мог быть свёрнут частично (например, восстановлен из бэкапа) — суммируем
+                st.executeUpdate("INSERT INTO post_view_daily (user_id, view_date, post_id, views) " +
+                        "SELECT user_id, CAST(viewed_at AS date), post_id, COUNT(*) FROM " + name +
+                        " GROUP BY 1, 2, 3 " + ADD_TO_DAILY);
+
+                st.execute("DROP TABLE " + name);
+                return rows;
+            }
+        });
+    }
+
+    @Override
+    public long rollupDefaultBefore(LocalDate before) {
+        return inTransaction(conn -> {
+            // DELETE ... RETURNING и свёртка одним оператором: строка, вставленная в DEFAULT во время
+            // свёртки, либо попадёт в итоги, либо останется — удалённой без учёта не будет
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "WITH moved AS (DELETE FROM " + DEFAULT_PARTITION + " WHERE viewed_at < ? " +
+                            "RETURNING user_id, viewed_at, post_id), " +
+                            "rolled AS (INSERT INTO post_view_daily (user_id, view_date, post_id, views) " +
+                            "SELECT user_id, CAST(viewed_at AS date), post_id, COUNT(*) FROM moved " +
+                            "GROUP BY 1, 2, 3 " + ADD_TO_DAILY + ") " +
+                            "SELECT COUNT(*) FROM moved")) {
+                ps.setObject(1, before.atStartOfDay());
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    return rs.getLong(1);
+                }
+            }
+        });
+    }
+
+    private static boolean isAttached(Connection conn, String table) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT EXISTS (SELECT 1 FROM pg_inherits " +
+                        "WHERE inhrelid = CAST(? AS regclass) AND inhparent = CAST(? AS regclass))")) {
+            ps.setString(1, table);
+            ps.setString(2, PARENT);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getBoolean(1);
+            }
+        }
+    }
+
+    private static boolean exists(Connection conn, String table) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT to_regclass(?) IS NOT NULL")) {
+            ps.setString(1, table);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getBoolean(1);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface JdbcWork<T> {
+        T run(Connection conn) throws SQLException;
+    }
+
+    // DDL через JDBC-соединение сессии, одной транзакцией
+    private static <T> T inTransaction(JdbcWork<T> work) {
+        EntityManager em = JpaUtil.getEntityManager();
+        EntityTransaction tx = em.getTransaction();
+        try {
+            tx.begin();
+            T result = em.unwrap(Session.class).doReturningWork(work::run);
+            tx.commit();
+            return result;
+        } catch (RuntimeException e) {
+            if (tx.isActive()) tx.rollback();
+            throw e;
+        } finally {
+            em.close();
+        }
+    }
+}
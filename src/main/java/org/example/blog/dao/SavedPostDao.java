@@ -1,6 +1,7 @@
 package org.example.blog.dao;
 
 import org.example.blog.model.Post;
+import org.example.blog.model.PostSummary;
 import org.example.blog.model.SavedPost;
 import org.example.blog.model.User;
 
@@ -12,9 +13,14 @@ public interface SavedPostDao {
 
     SavedPost findByUserAndPost(User user, Post post);
 
+    /** Сохранить и увеличить posts.saved_count (атомарно, в одной транзакции). */
     void save(SavedPost savedPost);
 
+    /** Удалить и уменьшить posts.saved_count (не ниже нуля), в одной транзакции. */
     void delete(SavedPost savedPost);
 
     List<Post> findSavedPostsByUser(User user);
+
+    // Для списка "Сохранённые" (без content), последние сохранённые первыми
+    List<PostSummary> findSavedSummariesByUser(Long userId);
 }
@@ -1,12 +1,15 @@
 package org.example.blog.dao;
 
 import org.example.blog.model.Post;
+import org.example.blog.model.PostSummary;
 import org.example.blog.model.SavedPost;
 import org.example.blog.model.User;
 import org.example.blog.util.JpaUtil;
+import org.hibernate.Session;
 
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
+import java.sql.PreparedStatement;
 import java.util.List;
 
 public class SavedPostDaoImpl implements SavedPostDao {
@@ -46,14 +49,12 @@ public class SavedPostDaoImpl implements SavedPostDao {
 
     @Override
     public void save(SavedPost savedPost) {
+        Long postId = savedPost.getPost().getId();
         EntityManager em = JpaUtil.getEntityManager();
         try {
             em.getTransaction().begin();
             em.persist(savedPost);
-
-            // Post đã được setSavedCount() từ Service, merge lại để lưu
-            em.merge(savedPost.getPost());
-
+            addSavedCount(em, postId, 1);
             em.getTransaction().commit();
         } catch (Exception e) {
             em.getTransaction().rollback();
@@ -61,21 +62,21 @@ public class SavedPostDaoImpl implements SavedPostDao {
         } finally {
             em.close();
         }
+        JpaUtil.evict(Post.class, postId);
     }
 
     @Override
     public void delete(SavedPost savedPost) {
+        Long postId = null;
         EntityManager em = JpaUtil.getEntityManager();
         try {
             em.getTransaction().begin();
 
             SavedPost attached = em.find(SavedPost.class, savedPost.getId());
             if (attached != null) {
-                Post p = attached.getPost();
+                postId = attached.getPost().getId();
                 em.remove(attached);
-
-                // Post đã được setSavedCount() từ Service, merge lại để lưu
-                em.merge(p);
+                addSavedCount(em, postId, -1);
             }
 
             em.getTransaction().commit();
@@ -85,6 +86,23 @@ public class SavedPostDaoImpl implements SavedPostDao {
         } finally {
             em.close();
         }
+        JpaUtil.evict(Post.class, postId);
+    }
+
+    // saved_count — атомарным UPDATE в той же транзакции, что и строка saved_posts.
+    // Раньше сервис менял заранее загруженную копию Post и её merge'или: одновременные
+    // сохранения теряли приращения, а при удалении merge'илась свежая копия и уменьшение пропадало.
+    // Через JDBC, как PostDaoImpl.addViews: JPQL UPDATE сбросил бы весь регион Post в кэше второго уровня
+    private static void addSavedCount(EntityManager em, Long postId, int delta) {
+        em.unwrap(Session.class).doWork(conn -> {
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "UPDATE posts SET saved_count = saved_count + ? WHERE id = ? AND saved_count + ? >= 0")) {
+                ps.setInt(1, delta);
+                ps.setLong(2, postId);
+                ps.setInt(3, delta);
+                ps.executeUpdate();
+            }
+        });
     }
 
     @Override
@@ -101,4 +119,20 @@ public class SavedPostDaoImpl implements SavedPostDao {
             em.close();
         }
     }
+
+    @Override
+    public List<PostSummary> findSavedSummariesByUser(Long userId) {
+        EntityManager em = JpaUtil.getEntityManager();
+        try {
+            return em.createQuery(
+                            "SELECT " + PostDaoImpl.SUMMARY +
+                                    "FROM SavedPost sp JOIN sp.post p JOIN p.author a JOIN p.topic t " +
+                                    "WHERE sp.user.id = :uid " +
+                                    "ORDER BY sp.savedAt DESC", PostSummary.class)
+                    .setParameter("uid", userId)
+                    .getResultList();
+        } finally {
+            em.close();
+        }
+    }
 }
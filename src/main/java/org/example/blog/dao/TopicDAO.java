@@ -1,50 +1,61 @@
 package org.example.blog.dao;
 
 import org.example.blog.model.Topic;
+import org.example.blog.util.DaoMetrics;
 import org.example.blog.util.JpaUtil;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityTransaction;
 import java.util.List;
 
+// Không có interface nên không bọc bằng proxy được — tự đo qua DaoMetrics
 public class TopicDAO {
 
     // Lưu topic mới
     public void save(Topic topic) {
-        EntityManager em = JpaUtil.getEntityManager();
-        EntityTransaction tx = em.getTransaction();
-        try {
-            tx.begin();
-            em.persist(topic);
-            tx.commit();
-        } catch (Exception e) {
-            if (tx.isActive()) {
-                tx.rollback();
+        DaoMetrics.measure("TopicDAO.save", () -> {
+            EntityManager em = JpaUtil.getEntityManager();
+            EntityTransaction tx = em.getTransaction();
+            try {
+                tx.begin();
+                em.persist(topic);
+                tx.commit();
+            } catch (Exception e) {
+                if (tx.isActive()) {
+                    tx.rollback();
+                }
+                e.printStackTrace();
+            } finally {
+                em.close();
             }
-            e.printStackTrace();
-        } finally {
-            em.close();
-        }
+        });
     }
 
     // Lấy tất cả topic (dùng cho màn Register chọn sở thích)
     public List<Topic> findAll() {
-        EntityManager em = JpaUtil.getEntityManager();
-        try {
-            return em.createQuery("SELECT t FROM Topic t", Topic.class)
-                    .getResultList();
-        } finally {
-            em.close();
-        }
+        return DaoMetrics.measure("TopicDAO.findAll", () -> {
+            EntityManager em = JpaUtil.getEntityManager();
+            try {
+                // query cache: список тем читается на каждом экране, а меняется редко
+                return em.createQuery("SELECT t FROM Topic t ORDER BY t.name", Topic.class)
+                        .setHint("org.hibernate.cacheable", true)
+                        .setHint("org.hibernate.cacheRegion", "blog.topic.list")
+                        .getResultList();
+            } finally {
+                em.close();
+            }
+        });
     }
 
     // Tìm topic theo id nếu cần sau này
     public Topic findById(Long id) {
-        EntityManager em = JpaUtil.getEntityManager();
-        try {
-            return em.find(Topic.class, id);
-        } finally {
-            em.close();
-        }
+        return DaoMetrics.measure("TopicDAO.findById", () -> {
+            EntityManager em = JpaUtil.getEntityManager();
+            try {
+                return em.find(Topic.class, id);
+            } finally {
+                em.close();
+            }
+        });
     }
 }
@@ -70,6 +70,8 @@ public class UserDaoImpl implements UserDao {
             return false;
         } finally {
             em.close();
+            JpaUtil.evict(User.class, user.getId());
+            JpaUtil.evictCollection(User.class.getName() + ".favoriteTopics", user.getId());
         }
     }
 }
@@ -7,8 +7,10 @@ import java.time.LocalDateTime;
 @Table(name = "comments")
 public class Comment {
 
+    // SEQUENCE (а не IDENTITY), чтобы Hibernate мог группировать INSERT в JDBC-батчи
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+    @SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = 50)
     private Long id;
 
     // N Comments - 1 Post
@@ -1,11 +1,16 @@
 package org.example.blog.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
 @Table(name = "posts")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "blog.post")
 public class Post {
 
     @Id
@@ -34,7 +39,8 @@ public class Post {
     @Column(nullable = false, length = 20)
     private String status; // DRAFT / PUBLISHED
 
-    @Column(nullable = false)
+    // меняется только ViewCounter (UPDATE views = views + ?): merge формы не затирает накопленное
+    @Column(nullable = false, updatable = false)
     private Integer views = 0;
 
     @Column(name = "comments_count", nullable = false)
@@ -183,6 +189,29 @@ public class Post {
     public void setThumbnailUrl(String thumbnailUrl) {
         this.thumbnailUrl = thumbnailUrl;
     }
+
+    // уменьшенные варианты обложки (ImageVariants): карточка ленты и страница записи
+    @Column(name = "thumbnail_card_url")
+    private String thumbnailCardUrl;
+
+    @Column(name = "thumbnail_detail_url")
+    private String thumbnailDetailUrl;
+
+    public String getThumbnailCardUrl() {
+        return thumbnailCardUrl;
+    }
+
+    public void setThumbnailCardUrl(String thumbnailCardUrl) {
+        this.thumbnailCardUrl = thumbnailCardUrl;
+    }
+
+    public String getThumbnailDetailUrl() {
+        return thumbnailDetailUrl;
+    }
+
+    public void setThumbnailDetailUrl(String thumbnailDetailUrl) {
+        this.thumbnailDetailUrl = thumbnailDetailUrl;
+    }
     @Column(name = "image_url")
     private String imageUrl;
 
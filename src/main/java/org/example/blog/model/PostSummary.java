@@ -0,0 +1,91 @@
+package org.example.blog.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Запись для списков (лента, сохранённые, "мои записи"): только то, что видно в карточке/таблице.
+ * Строится JPQL-конструктором (SELECT new ...), поэтому не тянет content,
+ * сущность автора и его favoriteTopics. Полный Post грузится только для страницы записи и формы.
+ */
+public class PostSummary {
+
+    private final Long id;
+    private final String title;
+    private final Long authorId;
+    private final String authorName;
+    private final Long topicId;
+    private final String topicName;
+    private final String status;
+    private final Integer views;
+    private final Integer commentsCount;
+    private final Integer savedCount;
+    private final String thumbnailUrl;
+    private final LocalDateTime createdAt;
+
+    public PostSummary(Long id, String title,
+                       Long authorId, String authorName,
+                       Long topicId, String topicName,
+                       String status, Integer views, Integer commentsCount, Integer savedCount,
+                       String thumbnailUrl, LocalDateTime createdAt) {
+        this.id = id;
+        this.title = title;
+        this.authorId = authorId;
+        this.authorName = authorName;
+        this.topicId = topicId;
+        this.topicName = topicName;
+        this.status = status;
+        this.views = views;
+        this.commentsCount = commentsCount;
+        this.savedCount = savedCount;
+        this.thumbnailUrl = thumbnailUrl;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public Long getAuthorId() {
+        return authorId;
+    }
+
+    public String getAuthorName() {
+        return authorName;
+    }
+
+    public Long getTopicId() {
+        return topicId;
+    }
+
+    public String getTopicName() {
+        return topicName;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Integer getViews() {
+        return views;
+    }
+
+    public Integer getCommentsCount() {
+        return commentsCount;
+    }
+
+    public Integer getSavedCount() {
+        return savedCount;
+    }
+
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -7,8 +7,10 @@ import java.time.LocalDateTime;
 @Table(name = "post_views")
 public class PostView {
 
+    // SEQUENCE (а не IDENTITY), чтобы Hibernate мог группировать INSERT в JDBC-батчи
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_views_seq")
+    @SequenceGenerator(name = "post_views_seq", sequenceName = "post_views_seq", allocationSize = 50)
     private Long id;
 
     // Какой User просматривает
@@ -19,7 +21,7 @@ public class PostView {
     @ManyToOne(optional = false)
     private Post post;
 
-    @Column(nullable = false)
+    @Column(name = "viewed_at", nullable = false)
     private LocalDateTime viewedAt = LocalDateTime.now();
 
     //constructors
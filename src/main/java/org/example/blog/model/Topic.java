@@ -1,5 +1,9 @@
 package org.example.blog.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+
 import javax.persistence.*;
 import java.util.List;
 import java.util.Set;
@@ -7,6 +11,9 @@ import java.util.HashSet;
 
 @Entity
 @Table(name = "topics")
+@Immutable
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "blog.topic")
 public class Topic {
 
     @Id
@@ -1,5 +1,8 @@
 package org.example.blog.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -7,6 +10,8 @@ import java.util.Set;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "blog.user")
 public class User {
 
     @Id
@@ -57,6 +62,7 @@ public class User {
     // N-N с темой через user_topics
     // используется EAGER для избежания LazyInitializationException при работе с JavaFX UI
     @ManyToMany(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "blog.user.favoriteTopics")
     @JoinTable(
             name = "user_topics",
             joinColumns = @JoinColumn(name = "user_id"),
@@ -200,4 +206,16 @@ public class User {
     public void setAvatarUrl(String avatarUrl) {
         this.avatarUrl = avatarUrl;
     }
+
+    // уменьшенный вариант аватара (ImageVariants)
+    @Column(name = "avatar_large_url")
+    private String avatarLargeUrl;
+
+    public String getAvatarLargeUrl() {
+        return avatarLargeUrl;
+    }
+
+    public void setAvatarLargeUrl(String avatarLargeUrl) {
+        this.avatarLargeUrl = avatarLargeUrl;
+    }
 }
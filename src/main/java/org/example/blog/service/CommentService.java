@@ -1,26 +1,36 @@
 package org.example.blog.service;
 
 import org.example.blog.dao.CommentDao;
-import org.example.blog.dao.CommentDaoImpl;
+import org.example.blog.dao.DaoFactory;
 import org.example.blog.model.Comment;
 import org.example.blog.model.Post;
 import org.example.blog.model.User;
+import org.example.blog.util.DbExecutor;
 import org.example.blog.util.JpaUtil;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityTransaction;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class CommentService {
 
-    private final CommentDao commentDao = new CommentDaoImpl();
+    private final CommentDao commentDao = DaoFactory.commentDao();
 
     public List<Comment> getCommentsByPostId(Long postId) {
         if (postId == null) return List.of();
         return commentDao.findByPostId(postId);
     }
 
+    public CompletableFuture<List<Comment>> getCommentsByPostIdAsync(Long postId) {
+        return DbExecutor.supply(() -> getCommentsByPostId(postId));
+    }
+
+    public CompletableFuture<Comment> addCommentAsync(Post post, User author, String content) {
+        return DbExecutor.supply(() -> addComment(post, author, content));
+    }
+
     public Comment addComment(Post post, User author, String content) {
         if (post == null || post.getId() == null) {
             throw new IllegalArgumentException("Post is null");
@@ -0,0 +1,206 @@
+package org.example.blog.service;
+
+import org.example.blog.dao.CounterDao;
+import org.example.blog.dao.CounterDrift;
+import org.example.blog.dao.DaoFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сверка денормализованных счётчиков posts с исходными таблицами.
+ *
+ * commentsCount меняется чтением-изменением-записью (CommentService), при одновременных действиях
+ * приращения теряются; savedCount меняется атомарным UPDATE, но его могли сбить старые версии
+ * и ручные правки; views пишет ещё и SeedAnalyticsDataMain.
+ * Сверка идёт порциями по id (keyset), в каждой — один запрос на поиск расхождений и UPDATE только
+ * расходящихся записей, значения пересчитываются в самом UPDATE. Между порциями — пауза
+ * (не больше counters.reconcile.chunksPerSecond порций в секунду), чтобы не занимать пул и диск.
+ *
+ * views сверяется только снизу: в счётчике не может быть меньше просмотров, чем в журнале
+ * (post_views и дневные итоги post_view_daily);
+ * больше — норма (гости, отставание очереди ViewEventPipeline).
+ * Журнал пишется примерно через секунду, а ViewCounter держит приращения до views.flushIntervalMs:
+ * без сброса перед порцией сверка подняла бы views до журнала, а отложенный +1 лёг бы сверху
+ * (двойной счёт). Поэтому перед каждой порцией — ViewCounter.flush(). Остаётся гонка с просмотрами
+ * внутри самой порции и с другими экземплярами приложения: их ViewCounter отсюда не сбросить,
+ * такие записи могут получить лишние просмотры (не больше, чем ждало сброса).
+ *
+ * По расписанию (start) и по запросу (reconcileNow); проходы не пересекаются — один поток.
+ */
+public class CounterReconciler {
+
+    /** -Dcounters.reconcile.intervalMinutes, -Dcounters.reconcile.chunkSize, -Dcounters.reconcile.chunksPerSecond */
+    private static final long INTERVAL_MINUTES = Long.getLong("counters.reconcile.intervalMinutes", 6 * 60);
+    private static final int CHUNK_SIZE = Integer.getInteger("counters.reconcile.chunkSize", 500);
+    private static final int CHUNKS_PER_SECOND = Integer.getInteger("counters.reconcile.chunksPerSecond", 4);
+
+    private static final long INITIAL_DELAY_MINUTES = 10;
+    private static final int MAX_SAMPLES = 10;
+
+    private static final CounterReconciler INSTANCE =
+            new CounterReconciler(DaoFactory.counterDao(), ViewCounter.getInstance(), CHUNK_SIZE, CHUNKS_PER_SECOND);
+
+    public static CounterReconciler getInstance() {
+        return INSTANCE;
+    }
+
+    /** Итог одного прохода. */
+    public static final class Report {
+        private int chunks;
+        private int scanned;
+        private int drifted;
+        private long commentsDrift;
+        private long savedDrift;
+        private long viewsDrift;
+        private int fixed;
+        private long durationMs;
+        private final List<CounterDrift> samples = new ArrayList<>();
+
+        public int getScanned() {
+            return scanned;
+        }
+
+        /** Записей с расхождением хотя бы в одном счётчике. */
+        public int getDrifted() {
+            return drifted;
+        }
+
+        /** Сумма |расхождений| по комментариям. */
+        public long getCommentsDrift() {
+            return commentsDrift;
+        }
+
+        public long getSavedDrift() {
+            return savedDrift;
+        }
+
+        public long getViewsDrift() {
+            return viewsDrift;
+        }
+
+        public int getFixed() {
+            return fixed;
+        }
+
+        /** Первые расхождения прохода (не больше MAX_SAMPLES) — для лога. */
+        public List<CounterDrift> getSamples() {
+            return samples;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("scanned=%d chunks=%d drifted=%d comments=%d saved=%d views=%d fixed=%d in %dms",
+                    scanned, chunks, drifted, commentsDrift, savedDrift, viewsDrift, fixed, durationMs);
+        }
+    }
+
+    private final CounterDao counterDao;
+    private final ViewCounter viewCounter;
+    private final int chunkSize;
+    private final long minChunkMs;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "counter-reconciler");
+        t.setDaemon(true);
+        return t;
+    });
+    private boolean started;
+
+    private long runs;
+    private long totalDrifted;
+    private long totalFixed;
+    private Report lastReport;
+
+    CounterReconciler(CounterDao counterDao, ViewCounter viewCounter, int chunkSize, int chunksPerSecond) {
+        this.counterDao = counterDao;
+        this.viewCounter = viewCounter;
+        this.chunkSize = chunkSize;
+        this.minChunkMs = chunksPerSecond > 0 ? 1000L / chunksPerSecond : 0;
+    }
+
+    public synchronized void start() {
+        if (started || INTERVAL_MINUTES <= 0) return;
+        started = true;
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                reconcile();
+            } catch (Exception e) {
+                System.err.println("Сверка счётчиков не удалась: " + e);
+            }
+        }, INITIAL_DELAY_MINUTES, INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /** Проход вне расписания — в том же потоке, после текущего, если он идёт. */
+    public CompletableFuture<Report> reconcileNow() {
+        return CompletableFuture.supplyAsync(this::reconcile, scheduler);
+    }
+
+    /** Один полный проход по всем записям. */
+    Report reconcile() {
+        long start = System.currentTimeMillis();
+        Report report = new Report();
+
+        long afterId = 0;
+        while (true) {
+            long chunkStart = System.currentTimeMillis();
+            List<Long> ids = counterDao.findPostIdsAfter(afterId, chunkSize);
+            if (ids.isEmpty()) break;
+            afterId = ids.get(ids.size() - 1);
+
+            // отложенные просмотры — в БД до сравнения с журналом; не записались — проход прерывается
+            viewCounter.flush();
+            List<CounterDrift> drift = counterDao.findDrift(ids);
+            if (!drift.isEmpty()) {
+                List<Long> driftedIds = new ArrayList<>(drift.size());
+                for (CounterDrift d : drift) {
+                    driftedIds.add(d.getPostId());
+                    report.commentsDrift += Math.abs(d.getCommentsDrift());
+                    report.savedDrift += Math.abs(d.getSavedDrift());
+                    report.viewsDrift += d.getViewsDrift();
+                    if (report.samples.size() < MAX_SAMPLES) report.samples.add(d);
+                }
+                report.drifted += drift.size();
+                report.fixed += counterDao.recount(driftedIds);
+            }
+            report.chunks++;
+            report.scanned += ids.size();
+            if (ids.size() < chunkSize) break;
+
+            if (!pause(minChunkMs - (System.currentTimeMillis() - chunkStart))) break;
+        }
+        report.durationMs = System.currentTimeMillis() - start;
+
+        synchronized (this) {
+            runs++;
+            totalDrifted += report.drifted;
+            totalFixed += report.fixed;
+            lastReport = report;
+        }
+        if (report.drifted > 0) {
+            System.out.println("Сверка счётчиков: " + report + " " + report.samples);
+        }
+        return report;
+    }
+
+    // false — поток прерван (выход из приложения)
+    private static boolean pause(long ms) {
+        if (ms <= 0) return true;
+        try {
+            Thread.sleep(ms);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public synchronized String getStats() {
+        return String.format("runs=%d drifted=%d fixed=%d last=[%s]",
+                runs, totalDrifted, totalFixed, lastReport != null ? lastReport : "-");
+    }
+}
@@ -1,21 +1,24 @@
 package org.example.blog.service;
 
+import org.example.blog.dao.DaoFactory;
 import org.example.blog.dao.PostDAO;
-import org.example.blog.dao.PostDaoImpl;
+import org.example.blog.dao.PostViewDao;
 import org.example.blog.model.Post;
+import org.example.blog.model.PostStatus;
 import org.example.blog.model.User;
+import org.example.blog.util.DbExecutor;
 import org.example.blog.util.JpaUtil;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * Service cho Dashboard – dùng PostDAO cho phần Post,
- * Comment / SavedPost / PostView dùng JPA trực tiếp.
+ * Service cho Dashboard – dùng PostDAO cho phần Post, PostViewDao cho PostView,
+ * Comment / SavedPost dùng JPA trực tiếp.
  */
 public class DashboardService {
 
@@ -124,17 +127,118 @@ public class DashboardService {
         }
     }
 
+    /** Toàn bộ số liệu cho màn hình Dashboard (một lần tải, điền bởi loadAsync). */
+    public static class DashboardData {
+        private long totalPosts;
+        private long published;
+        private long drafts;
+        private long comments;
+        private long savedPosts;
+        private long totalViews;
+        private List<TopicPostCount> topicCounts;
+        private List<TopPostStat> topPosts;
+
+        private long commentedPosts;
+        private long viewedPosts;
+        private int readingStreak;
+        private Map<LocalDate, Long> dailyViews;
+        private List<ReaderTopicStat> readerTopics;
+
+        public long getTotalPosts() {
+            return totalPosts;
+        }
+
+        public long getPublished() {
+            return published;
+        }
+
+        public long getDrafts() {
+            return drafts;
+        }
+
+        public long getComments() {
+            return comments;
+        }
+
+        public long getSavedPosts() {
+            return savedPosts;
+        }
+
+        public long getTotalViews() {
+            return totalViews;
+        }
+
+        public List<TopicPostCount> getTopicCounts() {
+            return topicCounts;
+        }
+
+        public List<TopPostStat> getTopPosts() {
+            return topPosts;
+        }
+
+        public long getCommentedPosts() {
+            return commentedPosts;
+        }
+
+        public long getViewedPosts() {
+            return viewedPosts;
+        }
+
+        public int getReadingStreak() {
+            return readingStreak;
+        }
+
+        public Map<LocalDate, Long> getDailyViews() {
+            return dailyViews;
+        }
+
+        public List<ReaderTopicStat> getReaderTopics() {
+            return readerTopics;
+        }
+    }
+
     // =============== DAO phụ thuộc ===============
 
     private final PostDAO postDao;
+    private final PostViewDao postViewDao;
 
     public DashboardService() {
-        this.postDao = new PostDaoImpl();
+        this(DaoFactory.postDao(), DaoFactory.postViewDao());
     }
 
     // Constructor cho unit test / DI nếu cần
     public DashboardService(PostDAO postDao) {
+        this(postDao, DaoFactory.postViewDao());
+    }
+
+    public DashboardService(PostDAO postDao, PostViewDao postViewDao) {
         this.postDao = postDao;
+        this.postViewDao = postViewDao;
+    }
+
+    // =============== ASYNC ===============
+
+    /**
+     * Tải Dashboard ngoài FX thread: các truy vấn độc lập chạy song song trên DbExecutor
+     * (tối đa bằng số kết nối trong pool).
+     */
+    public CompletableFuture<DashboardData> loadAsync(User user, LocalDate viewsFrom, LocalDate viewsTo) {
+        DashboardData d = new DashboardData();
+        return CompletableFuture.allOf(
+                DbExecutor.run(() -> d.totalPosts = countPosts(user)),
+                DbExecutor.run(() -> d.published = countPostsByStatus(user, PostStatus.PUBLISHED)),
+                DbExecutor.run(() -> d.drafts = countPostsByStatus(user, PostStatus.DRAFT)),
+                DbExecutor.run(() -> d.comments = countComments(user)),
+                DbExecutor.run(() -> d.savedPosts = countSavedPosts(user)),
+                DbExecutor.run(() -> d.totalViews = countTotalViews(user)),
+                DbExecutor.run(() -> d.topicCounts = countPostsByTopic(user)),
+                DbExecutor.run(() -> d.topPosts = getTopPostsByEngagement(user, 5)),
+                DbExecutor.run(() -> d.commentedPosts = countCommentedPosts(user)),
+                DbExecutor.run(() -> d.viewedPosts = countViewedPostsByUser(user)),
+                DbExecutor.run(() -> d.readingStreak = getReadingStreak(user)),
+                DbExecutor.run(() -> d.dailyViews = getDailyViewsForUser(user, viewsFrom, viewsTo)),
+                DbExecutor.run(() -> d.readerTopics = getReaderTopicStats(user))
+        ).thenApply(v -> d);
     }
 
     // =============== BLOGGER – THỐNG KÊ CHUNG ===============
@@ -272,52 +376,16 @@ public class DashboardService {
 
     /** Tổng số lượt xem user đã thực hiện (PostView). */
     public long countViewedPostsByUser(User user) {
-        EntityManager em = JpaUtil.getEntityManager();
-        try {
-            String jpql = "SELECT COUNT(v) FROM PostView v WHERE v.user = :user";
-            TypedQuery<Long> query = em.createQuery(jpql, Long.class);
-            query.setParameter("user", user);
-            return query.getSingleResult();
-        } finally {
-            em.close();
-        }
+        return postViewDao.countByUser(user);
     }
 
     public Map<LocalDate, Long> getDailyViewsForUser(User user, LocalDate from, LocalDate to) {
-        EntityManager em = JpaUtil.getEntityManager();
-        try {
-            // Lấy toàn bộ thời điểm xem, xử lý sang LocalDate trong Java
-            String jpql =
-                    "SELECT v.viewedAt " +
-                            "FROM PostView v " +
-                            "WHERE v.user = :user " +
-                            "AND v.viewedAt BETWEEN :from AND :to";
-
-            TypedQuery<java.time.LocalDateTime> query =
-                    em.createQuery(jpql, java.time.LocalDateTime.class);
-            query.setParameter("user", user);
-            query.setParameter("from", from.atStartOfDay());
-            query.setParameter("to", to.plusDays(1).atStartOfDay()); // đến hết ngày 'to'
-
-            Map<LocalDate, Long> result = new java.util.LinkedHashMap<>();
-
-            for (java.time.LocalDateTime dt : query.getResultList()) {
-                LocalDate day = dt.toLocalDate();
-                result.merge(day, 1L, Long::sum);
-            }
-
-            // Sắp xếp theo ngày tăng dần cho đẹp
-            return result.entrySet().stream()
-                    .sorted(java.util.Map.Entry.comparingByKey())
-                    .collect(java.util.stream.Collectors.toMap(
-                            java.util.Map.Entry::getKey,
-                            java.util.Map.Entry::getValue,
-                            (a, b) -> a,
-                            java.util.LinkedHashMap::new
-                    ));
-        } finally {
-            em.close();
+        // Đếm theo ngày trong DB (kể cả phần đã gộp vào post_view_daily), đã sắp xếp tăng dần
+        Map<LocalDate, Long> result = new LinkedHashMap<>();
+        for (Object[] row : postViewDao.countDailyViews(user, from, to)) {
+            result.put((LocalDate) row[0], (Long) row[1]);
         }
+        return result;
     }
 
     /** Top topics Reader yêu thích. */
@@ -358,16 +426,8 @@ public class DashboardService {
                 stat.setCommentedCount(count);
             }
 
-            // 3) PostView theo topic
-            String jpqlViews = "SELECT t.name, COUNT(v) " +
-                    "FROM PostView v " +
-                    "JOIN v.post p " +
-                    "JOIN p.topic t " +
-                    "WHERE v.user = :user " +
-                    "GROUP BY t.name";
-            TypedQuery<Object[]> qViews = em.createQuery(jpqlViews, Object[].class);
-            qViews.setParameter("user", user);
-            for (Object[] row : qViews.getResultList()) {
+            // 3) PostView theo topic (PostViewDao: cả lượt xem đã gộp theo ngày)
+            for (Object[] row : postViewDao.countByTopicForUser(user)) {
                 String topicName = (String) row[0];
                 Long count = (Long) row[1];
                 ReaderTopicStat stat = map.computeIfAbsent(topicName, ReaderTopicStat::new);
@@ -384,39 +444,16 @@ public class DashboardService {
     }
 
     public int getReadingStreak(User user) {
-        EntityManager em = JpaUtil.getEntityManager();
-        try {
-            LocalDate today = LocalDate.now();
-            LocalDate from = today.minusDays(60);
-
-            String jpql =
-                    "SELECT v.viewedAt " +
-                            "FROM PostView v " +
-                            "WHERE v.user = :user " +
-                            "AND v.viewedAt BETWEEN :from AND :to";
-
-            TypedQuery<java.time.LocalDateTime> query =
-                    em.createQuery(jpql, java.time.LocalDateTime.class);
-            query.setParameter("user", user);
-            query.setParameter("from", from.atStartOfDay());
-            query.setParameter("to", today.plusDays(1).atStartOfDay());
-
-            java.util.Set<LocalDate> dates = new java.util.HashSet<>();
-            for (java.time.LocalDateTime dt : query.getResultList()) {
-                dates.add(dt.toLocalDate());
-            }
-
-            // Đếm streak từ hôm nay lùi lại
-            int streak = 0;
-            LocalDate current = today;
-            while (dates.contains(current)) {
-                streak++;
-                current = current.minusDays(1);
-            }
-            return streak;
-
-        } finally {
-            em.close();
+        LocalDate today = LocalDate.now();
+        Set<LocalDate> dates = new HashSet<>(postViewDao.findDistinctViewDates(user, today.minusDays(60), today));
+
+        // Đếm streak từ hôm nay lùi lại
+        int streak = 0;
+        LocalDate current = today;
+        while (dates.contains(current)) {
+            streak++;
+            current = current.minusDays(1);
         }
+        return streak;
     }
 }
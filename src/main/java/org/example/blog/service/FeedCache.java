@@ -0,0 +1,235 @@
+package org.example.blog.service;
+
+import org.example.blog.dao.FeedCursor;
+import org.example.blog.dao.FeedSort;
+import org.example.blog.dao.PostFilter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Кэш результатов ленты Reader (страницы, поиск) в памяти процесса: LRU по числу записей + TTL.
+ * Ключ — нормализованные параметры запроса (см. key).
+ *
+ * Инвалидация по записи из PostService:
+ * - запись опубликована (новая / изменённая / черновик -> опубликовано) — сбрасывается всё,
+ *   она может попасть в любой результат;
+ * - запись удалена или снята с публикации — удаляются только результаты, где она есть;
+ * - черновик остался черновиком — ничего.
+ * Счётчики (views, commentsCount, savedCount) в закэшированных карточках могут отставать на TTL.
+ */
+public class FeedCache {
+
+    /** Размер и TTL: -Dfeed.cache.size=..., -Dfeed.cache.ttlSeconds=... (0 — кэш выключен). */
+    private static final int MAX_ENTRIES = Integer.getInteger("feed.cache.size", 200);
+    private static final long TTL_MS = Integer.getInteger("feed.cache.ttlSeconds", 60) * 1000L;
+
+    private static final FeedCache INSTANCE = new FeedCache(MAX_ENTRIES, TTL_MS);
+
+    public static FeedCache getInstance() {
+        return INSTANCE;
+    }
+
+    private static final class Entry {
+        final Object value;
+        final Set<Long> postIds;     // какие записи попали в результат
+        final Long savedByUserId;    // результат зависит от сохранённых этим пользователем
+        final long expiresAt;
+
+        Entry(Object value, Set<Long> postIds, Long savedByUserId, long expiresAt) {
+            this.value = value;
+            this.postIds = postIds;
+            this.savedByUserId = savedByUserId;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final int maxEntries;
+    private final long ttlMs;
+
+    private final LinkedHashMap<String, Entry> entries;
+
+    // растёт при каждой инвалидации: результат запроса, начатого раньше, не кладём
+    private long generation;
+
+    private long hits;
+    private long misses;
+    private long puts;
+    private long evictions;
+    private long expirations;
+    private long fullInvalidations;
+    private long targetedInvalidations;
+    private long invalidatedEntries;
+
+    FeedCache(int maxEntries, long ttlMs) {
+        this.maxEntries = maxEntries;
+        this.ttlMs = ttlMs;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > FeedCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Значение из кэша или loader(); loader выполняется вне блокировки.
+     *
+     * @param idsOf id записей в результате (для точечной инвалидации)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Long savedByUserId, Supplier<T> loader, Function<T, Collection<Long>> idsOf) {
+        if (maxEntries <= 0 || ttlMs <= 0) {
+            return loader.get();
+        }
+
+        long gen;
+        synchronized (this) {
+            Entry e = entries.get(key);
+            if (e != null) {
+                if (e.expiresAt > System.currentTimeMillis()) {
+                    hits++;
+                    return (T) e.value;
+                }
+                entries.remove(key);
+                expirations++;
+            }
+            misses++;
+            gen = generation;
+        }
+
+        T value = loader.get();
+
+        Set<Long> ids = Set.copyOf(idsOf.apply(value));
+        synchronized (this) {
+            if (gen == generation) {
+                entries.put(key, new Entry(value, ids, savedByUserId, System.currentTimeMillis() + ttlMs));
+                puts++;
+            }
+        }
+        return value;
+    }
+
+    // ===== Инвалидация =====
+
+    /** Запись сохранена со статусом published (новая, изменённая или только что опубликованная). */
+    public synchronized void onPublishedChanged() {
+        generation++;
+        fullInvalidations++;
+        invalidatedEntries += entries.size();
+        entries.clear();
+    }
+
+    /** Запись удалена или стала черновиком: убрать результаты, где она была. */
+    public synchronized void onRemoved(Long postId) {
+        if (postId == null) return;
+        generation++;
+        removeIf(e -> e.postIds.contains(postId));
+    }
+
+    /** Пользователь сохранил / убрал запись: меняются результаты фильтра "только сохранённые". */
+    public synchronized void onSavedChanged(Long userId) {
+        if (userId == null) return;
+        generation++;
+        removeIf(e -> userId.equals(e.savedByUserId));
+    }
+
+    private void removeIf(Predicate<Entry> p) {
+        int removed = 0;
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+            if (p.test(it.next())) {
+                it.remove();
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            targetedInvalidations++;
+            invalidatedEntries += removed;
+        }
+    }
+
+    // ===== Ключ =====
+
+    /**
+     * Нормализованный ключ: регистр и лишние пробелы в тексте не важны,
+     * избранные темы — по возрастанию id.
+     */
+    public static String key(String kind, PostFilter f, FeedSort sort, FeedCursor after) {
+        StringBuilder sb = new StringBuilder(kind);
+        sb.append('|').append(sort != null ? sort : "");
+        sb.append('|').append(after != null ? after.getSortKey() + "," + after.getCreatedAt() + "," + after.getId() : "");
+        if (f != null) {
+            sb.append("|kw=").append(normalize(f.getKeyword()));
+            sb.append("|t=").append(nvl(f.getTopicId()));
+            sb.append("|a=").append(normalize(f.getAuthorName()));
+            sb.append("|ti=").append(normalize(f.getTitlePart()));
+            sb.append("|from=").append(nvl(f.getFrom()));
+            sb.append("|to=").append(nvl(f.getTo()));
+            sb.append("|v=").append(nvl(f.getMinViews()));
+            sb.append("|c=").append(nvl(f.getMinComments()));
+            sb.append("|s=").append(nvl(f.getSavedByUserId()));
+            sb.append("|ids=").append(sorted(f.getPostIds()));
+            sb.append("|fav=").append(sort == FeedSort.FAVORITES_FIRST ? sorted(f.getFavoriteTopicIds()) : "");
+        }
+        return sb.toString();
+    }
+
+    static String normalize(String s) {
+        if (s == null) return "";
+        return s.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static String nvl(Object o) {
+        return o != null ? o.toString() : "";
+    }
+
+    private static String sorted(Collection<Long> ids) {
+        if (ids == null) return "";
+        List<Long> list = new ArrayList<>(ids);
+        list.sort(null);
+        return list.toString();
+    }
+
+    // ===== Метрики =====
+
+    public synchronized double getHitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getFullInvalidations() {
+        return fullInvalidations;
+    }
+
+    public synchronized long getTargetedInvalidations() {
+        return targetedInvalidations;
+    }
+
+    public synchronized String getStats() {
+        return String.format("entries=%d/%d hits=%d misses=%d ratio=%.2f puts=%d evicted=%d expired=%d "
+                        + "invalidations: full=%d targeted=%d entries=%d",
+                entries.size(), maxEntries, hits, misses, getHitRatio(), puts, evictions, expirations,
+                fullInvalidations, targetedInvalidations, invalidatedEntries);
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.blog.service;
+
+import org.example.blog.dao.DaoFactory;
+import org.example.blog.dao.MediaRefDao;
+import org.example.blog.util.MediaStore;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Удаляет из MediaStore файлы, на которые нет ссылок в БД (обложка заменена,
+ * запись удалена, аватар сменён).
+ *
+ * Число ссылок на каждый файл считается запросом по колонкам картинок (MediaRefDao) в момент
+ * сборки — отдельный счётчик не хранится и не расходится с данными. Файл без ссылок удаляется,
+ * только если не менялся дольше grace-периода: только что загруженная картинка ещё не сохранена
+ * в записи (форма открыта).
+ *
+ * Запускается в фоне после старта (start) и затем периодически.
+ */
+public class MediaGarbageCollector {
+
+    /** Интервал сборки и grace-период: -Dmedia.gc.intervalMinutes=..., -Dmedia.gc.graceMinutes=... */
+    private static final long INTERVAL_MINUTES = Long.getLong("media.gc.intervalMinutes", 60);
+    private static final Duration GRACE = Duration.ofMinutes(Long.getLong("media.gc.graceMinutes", 24 * 60));
+
+    // первый проход — не сразу, чтобы не мешать старту
+    private static final long INITIAL_DELAY_MINUTES = 5;
+
+    private static final MediaGarbageCollector INSTANCE =
+            new MediaGarbageCollector(MediaStore.getInstance(), DaoFactory.mediaRefDao());
+
+    public static MediaGarbageCollector getInstance() {
+        return INSTANCE;
+    }
+
+    private final MediaStore store;
+    private final MediaRefDao refDao;
+
+    private ScheduledExecutorService scheduler;
+
+    private long runs;
+    private long scanned;
+    private long referenced;
+    private long removed;
+    private long lastRunMs;
+
+    MediaGarbageCollector(MediaStore store, MediaRefDao refDao) {
+        this.store = store;
+        this.refDao = refDao;
+    }
+
+    public synchronized void start() {
+        if (scheduler != null || INTERVAL_MINUTES <= 0) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "media-gc");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                collect();
+            } catch (Exception e) {
+                System.err.println("Сборка неиспользуемых файлов не удалась: " + e);
+            }
+        }, INITIAL_DELAY_MINUTES, INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /** Один проход; возвращает число удалённых файлов. */
+    public int collect() throws IOException {
+        long start = System.currentTimeMillis();
+        Instant cutoff = Instant.now().minus(GRACE);
+
+        // сначала файлы, потом ссылки: файл, загруженный между ними, защищён grace-периодом
+        List<String> blobs = store.listRefs();
+        Map<String, Long> refCounts = refDao.countMediaReferences();
+
+        int deleted = 0;
+        for (String ref : blobs) {
+            if (refCounts.getOrDefault(ref, 0L) > 0) continue;
+            if (store.deleteIfOlderThan(ref, cutoff)) deleted++;
+        }
+
+        synchronized (this) {
+            runs++;
+            scanned += blobs.size();
+            referenced = refCounts.size();
+            removed += deleted;
+            lastRunMs = System.currentTimeMillis() - start;
+        }
+        return deleted;
+    }
+
+    public synchronized String getStats() {
+        return String.format("runs=%d scanned=%d referenced=%d removed=%d lastRun=%dms",
+                runs, scanned, referenced, removed, lastRunMs);
+    }
+}
@@ -0,0 +1,374 @@
+package org.example.blog.service;
+
+import org.example.blog.dao.DaoFactory;
+import org.example.blog.dao.PostDAO;
+import org.example.blog.model.Post;
+import org.example.blog.model.PostStatus;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Инвертированный индекс опубликованных записей в памяти процесса:
+ * слово (нижний регистр, ё -> е) -> отсортированный массив id записей.
+ * Слова запроса ищутся по префиксу (TreeMap.subMap), несколько слов — все должны совпасть.
+ *
+ * Строится в фоне после старта (buildAsync) и обновляется из PostService.savePost / deletePost.
+ * Пока индекс не готов, PostService ищет через полнотекстовый поиск PostgreSQL.
+ */
+public class PostSearchIndex {
+
+    /** Пачка записей при построении индекса. */
+    private static final int BUILD_CHUNK = 500;
+
+    /** Префиксный поиск только для слов от 2 символов, однобуквенные — точное совпадение. */
+    private static final int MIN_PREFIX = 2;
+
+    private static final PostSearchIndex INSTANCE = new PostSearchIndex(DaoFactory.postDao());
+
+    public static PostSearchIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /** id записей одного слова, по возрастанию. */
+    private static final class Postings {
+        long[] ids = new long[2];
+        int size;
+
+        void add(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) return;
+            pos = -pos - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) return;
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+        }
+    }
+
+    /** Что проиндексировано для одной записи (нужно для удаления и ранжирования). */
+    private static final class Entry {
+        final String[] titleTerms;
+        final String[] terms;       // все слова записи (заголовок + текст), без повторов
+        final long createdAt;       // для порядка "новые первыми" при равном ранге
+
+        Entry(String[] titleTerms, String[] terms, long createdAt) {
+            this.titleTerms = titleTerms;
+            this.terms = terms;
+            this.createdAt = createdAt;
+        }
+    }
+
+    private final PostDAO postDAO;
+
+    private final NavigableMap<String, Postings> index = new TreeMap<>();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // изменения, пришедшие во время построения, важнее данных из пачки
+    private final Set<Long> removedWhileBuilding = new HashSet<>();
+    private boolean building;
+    private volatile boolean ready;
+
+    PostSearchIndex(PostDAO postDAO) {
+        this.postDAO = postDAO;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** Построить индекс в фоновом потоке (после готовности БД). */
+    public void buildAsync() {
+        Thread t = new Thread(() -> {
+            try {
+                build();
+            } catch (Exception e) {
+                System.err.println("Не удалось построить поисковый индекс: " + e);
+            }
+        }, "search-index-build");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    public void build() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            building = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            Long afterId = null;
+            while (true) {
+                List<Object[]> rows = postDAO.findPublishedText(afterId, BUILD_CHUNK);
+                if (rows.isEmpty()) break;
+
+                lock.writeLock().lock();
+                try {
+                    for (Object[] row : rows) {
+                        Long id = (Long) row[0];
+                        // запись уже обновлена/удалена через PostService — её состояние свежее
+                        if (entries.containsKey(id) || removedWhileBuilding.contains(id)) continue;
+                        put(id, (String) row[1], (String) row[2], (LocalDateTime) row[3]);
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                afterId = (Long) rows.get(rows.size() - 1)[0];
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                building = false;
+                removedWhileBuilding.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        ready = true;
+        System.out.println("[search-index] построен за " + (System.nanoTime() - start) / 1_000_000
+                + " мс: " + getStats());
+    }
+
+    // ===== Инкрементальные обновления =====
+
+    /** После сохранения записи: опубликованная — (пере)индексируется, остальные — убираются. */
+    public void onSaved(Post post) {
+        if (post == null || post.getId() == null) return;
+
+        lock.writeLock().lock();
+        try {
+            removeEntry(post.getId());
+            if (PostStatus.PUBLISHED.equals(post.getStatus())) {
+                put(post.getId(), post.getTitle(), post.getContent(), post.getCreatedAt());
+                removedWhileBuilding.remove(post.getId());
+            } else if (building) {
+                removedWhileBuilding.add(post.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void onDeleted(Long postId) {
+        if (postId == null) return;
+
+        lock.writeLock().lock();
+        try {
+            removeEntry(postId);
+            if (building) {
+                removedWhileBuilding.add(postId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // вызывается под writeLock
+    private void put(Long id, String title, String content, LocalDateTime createdAt) {
+        Set<String> titleSet = tokenize(title);
+        Set<String> all = new LinkedHashSet<>(titleSet);
+        all.addAll(tokenize(content));
+
+        String[] terms = new String[all.size()];
+        int i = 0;
+        for (String term : all) {
+            Postings postings = index.get(term);
+            if (postings == null) {
+                postings = new Postings();
+                index.put(term, postings);
+            } else {
+                term = index.ceilingKey(term); // общий экземпляр строки из индекса
+            }
+            postings.add(id);
+            terms[i++] = term;
+        }
+
+        String[] titleTerms = new String[titleSet.size()];
+        i = 0;
+        for (String term : titleSet) {
+            titleTerms[i++] = index.ceilingKey(term);
+        }
+
+        long created = createdAt != null ? createdAt.toEpochSecond(ZoneOffset.UTC) : 0L;
+        entries.put(id, new Entry(titleTerms, terms, created));
+    }
+
+    // вызывается под writeLock
+    private void removeEntry(Long id) {
+        Entry e = entries.remove(id);
+        if (e == null) return;
+        for (String term : e.terms) {
+            Postings postings = index.get(term);
+            if (postings == null) continue;
+            postings.remove(id);
+            if (postings.size == 0) {
+                index.remove(term);
+            }
+        }
+    }
+
+    // ===== Поиск =====
+
+    /** id всех опубликованных записей, где есть каждое слово запроса (по префиксу). */
+    public Set<Long> match(String query) {
+        Set<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) return new HashSet<>();
+
+        lock.readLock().lock();
+        try {
+            Set<Long> result = null;
+            for (String token : tokens) {
+                Set<Long> ids = idsForToken(token);
+                if (result == null) {
+                    result = ids;
+                } else {
+                    result.retainAll(ids);
+                }
+                if (result.isEmpty()) break;
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Лучшие совпадения: слово в заголовке весит больше, чем в тексте;
+     * при равном ранге — новые первыми.
+     */
+    public List<Long> search(String query, int limit) {
+        Set<String> tokens = tokenize(query);
+        Set<Long> ids = match(query);
+        if (ids.isEmpty()) return new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            List<long[]> scored = new ArrayList<>(ids.size()); // {id, score, createdAt}
+            for (Long id : ids) {
+                Entry e = entries.get(id);
+                if (e == null) continue;
+                long score = 0;
+                for (String token : tokens) {
+                    score += hasPrefix(e.titleTerms, token) ? 2 : 1;
+                }
+                scored.add(new long[]{id, score, e.createdAt});
+            }
+            scored.sort(Comparator.<long[]>comparingLong(a -> a[1])
+                    .thenComparingLong(a -> a[2])
+                    .thenComparingLong(a -> a[0])
+                    .reversed());
+
+            List<Long> result = new ArrayList<>(Math.min(limit, scored.size()));
+            for (int i = 0; i < scored.size() && i < limit; i++) {
+                result.add(scored.get(i)[0]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // вызывается под readLock
+    private Set<Long> idsForToken(String token) {
+        Set<Long> ids = new HashSet<>();
+        Map<String, Postings> matches = token.length() >= MIN_PREFIX
+                ? index.subMap(token, true, token + Character.MAX_VALUE, false)
+                : (index.containsKey(token) ? Map.of(token, index.get(token)) : Map.of());
+        for (Postings p : matches.values()) {
+            for (int i = 0; i < p.size; i++) {
+                ids.add(p.ids[i]);
+            }
+        }
+        return ids;
+    }
+
+    private boolean hasPrefix(String[] terms, String token) {
+        for (String t : terms) {
+            if (token.length() >= MIN_PREFIX ? t.startsWith(token) : t.equals(token)) return true;
+        }
+        return false;
+    }
+
+    /** Слова из букв и цифр, в нижнем регистре, ё -> е. */
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null || text.isEmpty()) return tokens;
+
+        String lower = text.toLowerCase(Locale.ROOT).replace('ё', 'е');
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean word = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    // ===== Память =====
+
+    /**
+     * Оценка занимаемой памяти (64-bit JVM, compressed oops): строки слов, узлы TreeMap,
+     * массивы id, записи HashMap с массивами ссылок на слова.
+     */
+    public String getStats() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            long postingsTotal = 0;
+            for (Map.Entry<String, Postings> e : index.entrySet()) {
+                String term = e.getKey();
+                boolean latin1 = term.chars().allMatch(c -> c < 256);
+                bytes += 40                                        // TreeMap.Entry
+                        + 24 + align(16 + (latin1 ? term.length() : term.length() * 2L)) // String + byte[]
+                        + 24 + align(16 + 8L * e.getValue().ids.length);                  // Postings + long[]
+                postingsTotal += e.getValue().size;
+            }
+            for (Entry e : entries.values()) {
+                bytes += 32 + 8 + 16                               // HashMap.Node + слот таблицы + Long
+                        + 24                                       // Entry
+                        + align(16 + 4L * e.titleTerms.length)
+                        + align(16 + 4L * e.terms.length);
+            }
+            int posts = entries.size();
+            return String.format("posts=%d terms=%d postings=%d memory≈%,d KB (%,d B/post)",
+                    posts, index.size(), postingsTotal, bytes / 1024, posts == 0 ? 0 : bytes / posts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
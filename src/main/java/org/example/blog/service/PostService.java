@@ -1,48 +1,178 @@
 package org.example.blog.service;
 
+import org.example.blog.dao.DaoFactory;
+import org.example.blog.dao.FeedCursor;
+import org.example.blog.dao.FeedPage;
+import org.example.blog.dao.FeedSort;
 import org.example.blog.dao.PostDAO;
-import org.example.blog.dao.PostDaoImpl;
+import org.example.blog.dao.PostFilter;
 import org.example.blog.model.Post;
+import org.example.blog.model.PostStatus;
+import org.example.blog.model.PostSummary;
 import org.example.blog.model.User;
+import org.example.blog.util.DbExecutor;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 public class PostService {
 
+    /** Размер страницы ленты Reader; можно переопределить через -Dfeed.pageSize=... */
+    public static final int FEED_PAGE_SIZE = Integer.getInteger("feed.pageSize", 20);
+
+    /** Сколько результатов поиска по релевантности можно пролистать: -Dsearch.scrollLimit=... */
+    public static final int SEARCH_SCROLL_LIMIT = Integer.getInteger("search.scrollLimit", 1000);
+
+    /** Больше совпадений из индекса не передаём в IN (...) — ищем полнотекстовым поиском БД. */
+    private static final int MAX_INDEX_IDS = 5000;
+
+    /** Сколько подсказок "Возможно, вы имели в виду" показывать. */
+    public static final int SUGGESTION_LIMIT = 5;
+
     private final PostDAO postDAO;
+    private final PostSearchIndex searchIndex;
+    private final FeedCache feedCache;
+    private final ViewCounter viewCounter;
+    private final ViewDeduplicator viewDedup;
 
     public PostService() {
-        this.postDAO = new PostDaoImpl();
+        this(DaoFactory.postDao());
     }
 
     public PostService(PostDAO postDAO) {
         this.postDAO = postDAO;
+        this.searchIndex = PostSearchIndex.getInstance();
+        this.feedCache = FeedCache.getInstance();
+        this.viewCounter = ViewCounter.getInstance();
+        this.viewDedup = ViewDeduplicator.forCounter();
     }
 
     // READER MODE
 
+    // Результаты чтения ленты кэшируются (FeedCache); списки из кэша общие — не изменять
+
     public List<Post> getAllPublishedPosts() {
-        return postDAO.findAllPublished();
+        return feedCache.get(FeedCache.key("all", null, null, null), null,
+                () -> Collections.unmodifiableList(postDAO.findAllPublished()),
+                posts -> idsOf(posts, Post::getId));
     }
 
-    public List<Post> searchPublished(String keyword) {
-        if (keyword == null || keyword.isBlank()) {
-            return getAllPublishedPosts();
+    /**
+     * Страница ленты: filter == null — все опубликованные, sort == null — новые первыми,
+     * after == null — первая страница.
+     * Ключевое слово по возможности разрешается индексом в набор id, БД фильтрует, сортирует и режет страницу.
+     */
+    public FeedPage<PostSummary> getPublishedPage(PostFilter filter, FeedSort sort, FeedCursor after) {
+        return feedCache.get(FeedCache.key("page", filter, sort, after),
+                filter != null ? filter.getSavedByUserId() : null,
+                () -> loadPublishedPage(filter, sort, after),
+                page -> idsOf(page.getItems(), PostSummary::getId));
+    }
+
+    private FeedPage<PostSummary> loadPublishedPage(PostFilter filter, FeedSort sort, FeedCursor after) {
+        filter = resolveKeyword(filter != null ? filter : new PostFilter());
+        if (filter == null) {
+            return new FeedPage<>(List.of(), null);
         }
-        return postDAO.searchPublished(keyword.trim());
+        FeedPage<PostSummary> page = postDAO.findPublishedPage(filter, sort, after, FEED_PAGE_SIZE);
+        return new FeedPage<>(Collections.unmodifiableList(page.getItems()), page.getNext());
     }
 
-    public void increaseViews(Long postId) {
-        if (postId == null) return;
+    /** Сколько всего записей под фильтром (тот же набор условий, что у страниц). */
+    public long countPublished(PostFilter filter) {
+        PostFilter resolved = resolveKeyword(filter != null ? filter : new PostFilter());
+        return resolved != null ? postDAO.countPublished(resolved) : 0;
+    }
 
-        Post post = postDAO.findById(postId);
-        if (post == null) return;
+    /**
+     * Подсказки, когда фильтр по автору / заголовку ничего не нашёл: похожие (триграммы)
+     * имена авторов опубликованных записей и заголовки.
+     */
+    public List<String> suggestAuthorNames(String authorPart) {
+        if (authorPart == null || authorPart.isBlank()) return List.of();
+        return postDAO.suggestAuthorNames(authorPart.trim(), SUGGESTION_LIMIT);
+    }
+
+    public List<String> suggestTitles(String titlePart) {
+        if (titlePart == null || titlePart.isBlank()) return List.of();
+        return postDAO.suggestTitles(titlePart.trim(), SUGGESTION_LIMIT);
+    }
+
+    // keyword -> postIds из индекса, если он готов; null — совпадений нет
+    private PostFilter resolveKeyword(PostFilter filter) {
+        if (filter.getKeyword() == null || !searchIndex.isReady()) {
+            return filter;
+        }
+        Set<Long> ids = searchIndex.match(filter.getKeyword());
+        if (ids.isEmpty()) {
+            return null;
+        }
+        if (ids.size() > MAX_INDEX_IDS) {
+            return filter;
+        }
+        PostFilter byIds = filter.copy();
+        byIds.setKeyword(null);
+        byIds.setPostIds(ids);
+        return byIds;
+    }
+
+    /**
+     * Страница поиска для карточек ленты (по релевантности): offset — сколько уже показано.
+     * Ранжированные id (не больше SEARCH_SCROLL_LIMIT) кэшируются одним списком, страница
+     * режется из него при каждом запросе, сами страницы не кэшируются: иначе страница, пережившая
+     * список, смешалась бы с новым ранжированием (индекс вместо ts_rank) — повторы и пропуски.
+     * Пока список в кэше, порядок между страницами не меняется.
+     */
+    public List<PostSummary> searchPublishedSummaries(String keyword, int offset, int limit) {
+        if (keyword == null || keyword.isBlank()) return List.of();
+        List<Long> ids = searchRankedIds(keyword);
+        if (offset >= ids.size()) return List.of();
+
+        List<Long> pageIds = ids.subList(offset, Math.min(ids.size(), offset + limit));
+        return inOrder(pageIds, postDAO.findSummariesByIds(pageIds), PostSummary::getId);
+    }
+
+    // индекс в памяти, пока он строится — БД
+    private List<Long> searchRankedIds(String keyword) {
+        return feedCache.get(FeedCache.key("searchIds", PostFilter.keyword(keyword), null, null), null,
+                () -> Collections.unmodifiableList(searchIndex.isReady()
+                        ? searchIndex.search(keyword, SEARCH_SCROLL_LIMIT)
+                        : postDAO.searchPublishedIds(keyword.trim(), SEARCH_SCROLL_LIMIT)),
+                ids -> ids);
+    }
+
+    // строки из БД в порядке ранжирования индекса
+    private static <T> List<T> inOrder(List<Long> ids, List<T> rows, Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>();
+        rows.forEach(r -> byId.put(idOf.apply(r), r));
+
+        List<T> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T r = byId.get(id);
+            if (r != null) result.add(r);
+        }
+        return result;
+    }
 
-        Integer current = post.getViews();
-        if (current == null) current = 0;
+    private static <T> Collection<Long> idsOf(List<T> rows, Function<T, Long> idOf) {
+        List<Long> ids = new ArrayList<>(rows.size());
+        rows.forEach(r -> ids.add(idOf.apply(r)));
+        return ids;
+    }
 
-        post.setViews(current + 1);
-        postDAO.update(post);
+    // в памяти, в БД — пачкой (ViewCounter); views в карточках из FeedCache обновятся по TTL.
+    // Повтор того же читателя в окне (ViewDeduplicator) не считается; false — просмотр не засчитан
+    public boolean increaseViews(Long postId, Long userId) {
+        if (!viewDedup.firstView(userId, postId)) return false;
+        viewCounter.increment(postId);
+        return true;
     }
 
     // BLOGGER MODE
@@ -52,6 +182,11 @@ public class PostService {
         return postDAO.findByAuthor(author);
     }
 
+    public List<PostSummary> getPostSummariesByAuthor(User author) {
+        if (author == null) return List.of();
+        return postDAO.findSummariesByAuthor(author);
+    }
+
     public void savePost(Post post) {
         if (post == null) return;
 
@@ -60,15 +195,43 @@ public class PostService {
         } else {
             postDAO.update(post);
         }
+        // в т.ч. смена статуса: черновик убирается из индекса, опубликованная запись добавляется
+        searchIndex.onSaved(post);
+        if (PostStatus.PUBLISHED.equals(post.getStatus())) {
+            feedCache.onPublishedChanged();
+        } else {
+            feedCache.onRemoved(post.getId());
+        }
     }
 
     public void deletePost(Post post) {
         if (post == null || post.getId() == null) return;
         postDAO.delete(post);
+        searchIndex.onDeleted(post.getId());
+        feedCache.onRemoved(post.getId());
     }
 
     public Post findById(Long id) {
         if (id == null) return null;
         return postDAO.findById(id);
     }
+
+    // ===== Async (для контроллеров: не держать FX-поток на запросе) =====
+
+    public CompletableFuture<Post> findByIdAsync(Long id) {
+        return DbExecutor.supply(() -> findById(id));
+    }
+
+    public CompletableFuture<List<PostSummary>> getPostSummariesByAuthorAsync(User author) {
+        return DbExecutor.supply(() -> getPostSummariesByAuthor(author));
+    }
+
+    public CompletableFuture<Void> savePostAsync(Post post) {
+        return DbExecutor.run(() -> savePost(post));
+    }
+
+    /** Удаление по id из списка (в списках нет полной записи). */
+    public CompletableFuture<Void> deletePostAsync(Long postId) {
+        return DbExecutor.run(() -> deletePost(findById(postId)));
+    }
 }
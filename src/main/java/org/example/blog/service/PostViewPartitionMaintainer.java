@@ -0,0 +1,115 @@
+package org.example.blog.service;
+
+import org.example.blog.dao.DaoFactory;
+import org.example.blog.dao.PostViewPartitionDao;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Обслуживание месячных секций post_views (V10).
+ *
+ * - Секции создаются заранее: прошлый и текущий месяц и views.partitions.monthsAhead следующих,
+ *   чтобы вставки ViewEventPipeline не попадали в DEFAULT.
+ * - Хранение: месяц, целиком старше views.retentionDays дней, сворачивается в дневные итоги
+ *   (post_view_daily: читатель, запись, день, число) и его секция удаляется. Дашборд и сверка
+ *   счётчиков читают итоги вместе с сырыми строками, цифры не меняются — теряется только время
+ *   просмотра внутри дня. views.retentionDays=0 — хранить всё.
+ * - DEFAULT: строки месяца переезжают в секцию, когда она создаётся (окно -1..monthsAhead);
+ *   строки более старых месяцев лежат в DEFAULT до истечения срока и сворачиваются вместе
+ *   с секциями. Строки дальше monthsAhead (сбитые часы) ждут, пока их месяц войдёт в окно.
+ *
+ * Первый проход — сразу после старта, затем раз в сутки.
+ */
+public class PostViewPartitionMaintainer {
+
+    /** -Dviews.partitions.monthsAhead, -Dviews.retentionDays */
+    private static final int MONTHS_AHEAD = Integer.getInteger("views.partitions.monthsAhead", 3);
+    private static final int RETENTION_DAYS = Integer.getInteger("views.retentionDays", 365);
+
+    private static final long INTERVAL_HOURS = 24;
+
+    private static final PostViewPartitionMaintainer INSTANCE =
+            new PostViewPartitionMaintainer(DaoFactory.postViewPartitionDao());
+
+    public static PostViewPartitionMaintainer getInstance() {
+        return INSTANCE;
+    }
+
+    private final PostViewPartitionDao partitionDao;
+
+    private ScheduledExecutorService scheduler;
+
+    private long runs;
+    private long created;
+    private long dropped;
+    private long rolledUpRows;
+    private int partitions;
+
+    PostViewPartitionMaintainer(PostViewPartitionDao partitionDao) {
+        this.partitionDao = partitionDao;
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "post-view-partitions");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                maintain();
+            } catch (Exception e) {
+                System.err.println("Обслуживание секций post_views не удалось: " + e);
+            }
+        }, 0, INTERVAL_HOURS, TimeUnit.HOURS);
+    }
+
+    /** Один проход: создать недостающие секции, свернуть и удалить просроченные. */
+    public void maintain() {
+        YearMonth current = YearMonth.now();
+        int newPartitions = 0;
+        // с прошлого месяца: строки, записанные задним числом (SeedAnalyticsDataMain) в DEFAULT, переедут в секцию
+        for (int i = -1; i <= MONTHS_AHEAD; i++) {
+            if (partitionDao.createMonthlyPartition(current.plusMonths(i))) newPartitions++;
+        }
+
+        int droppedPartitions = 0;
+        long rows = 0;
+        List<YearMonth> months = partitionDao.findMonthlyPartitions();
+        if (RETENTION_DAYS > 0) {
+            LocalDate cutoff = LocalDate.now().minusDays(RETENTION_DAYS);
+            for (YearMonth month : months) {
+                // только месяцы, последний день которых уже старше срока
+                if (!month.plusMonths(1).atDay(1).isAfter(cutoff)) {
+                    rows += partitionDao.rollupAndDropPartition(month);
+                    droppedPartitions++;
+                }
+            }
+            // в DEFAULT — месяцы без секций (задним числом, до V10) и поздние строки удалённых месяцев
+            rows += partitionDao.rollupDefaultBefore(YearMonth.from(cutoff).atDay(1));
+        }
+
+        synchronized (this) {
+            runs++;
+            created += newPartitions;
+            dropped += droppedPartitions;
+            rolledUpRows += rows;
+            partitions = months.size() - droppedPartitions;
+        }
+        if (newPartitions > 0 || droppedPartitions > 0) {
+            System.out.println("Секции post_views: создано " + newPartitions + ", свёрнуто и удалено "
+                    + droppedPartitions + " (" + rows + " строк)");
+        }
+    }
+
+    public synchronized String getStats() {
+        return String.format("runs=%d partitions=%d created=%d dropped=%d rolledUp=%d retention=%dd",
+                runs, partitions, created, dropped, rolledUpRows, RETENTION_DAYS);
+    }
+}
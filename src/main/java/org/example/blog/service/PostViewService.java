@@ -1,24 +1,20 @@
 package org.example.blog.service;
 
-import org.example.blog.dao.PostViewDao;
-import org.example.blog.dao.PostViewDaoImpl;
 import org.example.blog.model.Post;
-import org.example.blog.model.PostView;
 import org.example.blog.model.User;
 
 public class PostViewService {
 
-    private final PostViewDao postViewDao = new PostViewDaoImpl();
+    private final ViewEventPipeline viewEvents = ViewEventPipeline.getInstance();
+    private final ViewDeduplicator viewDedup = ViewDeduplicator.forViewLog();
 
+    // в очередь (ViewEventPipeline), в БД — пачками в фоне; не блокирует.
+    // Повтор в окне ViewDeduplicator не пишется вовсе
     public void logView(Post post, User user) {
         if (post == null || post.getId() == null || user == null || user.getId() == null) {
             return;
         }
-
-        PostView view = new PostView();
-        view.setPost(post);
-        view.setUser(user);
-
-        postViewDao.save(view);
+        if (!viewDedup.firstView(user.getId(), post.getId())) return;
+        viewEvents.offer(user.getId(), post.getId());
     }
 }
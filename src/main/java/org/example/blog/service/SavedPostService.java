@@ -1,15 +1,17 @@
 package org.example.blog.service;
 
+import org.example.blog.dao.DaoFactory;
 import org.example.blog.dao.PostDAO;
-import org.example.blog.dao.PostDaoImpl;
 import org.example.blog.dao.SavedPostDao;
-import org.example.blog.dao.SavedPostDaoImpl;
 import org.example.blog.model.Post;
+import org.example.blog.model.PostSummary;
 import org.example.blog.model.SavedPost;
 import org.example.blog.model.User;
+import org.example.blog.util.DbExecutor;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class SavedPostService {
 
@@ -17,8 +19,8 @@ public class SavedPostService {
     private final PostDAO postDAO;
 
     public SavedPostService() {
-        this.savedPostDao = new SavedPostDaoImpl();
-        this.postDAO = new PostDaoImpl();
+        this.savedPostDao = DaoFactory.savedPostDao();
+        this.postDAO = DaoFactory.postDao();
     }
 
     public SavedPostService(SavedPostDao savedPostDao, PostDAO postDAO) {
@@ -36,7 +38,6 @@ public class SavedPostService {
         if (post == null || user == null) return;
         if (post.getId() == null || user.getId() == null) return;
 
-        // Для более стабильного увеличения значения savedCount, получите последний POST-запрос из базы данных.
         Post managedPost = postDAO.findById(post.getId());
         if (managedPost == null) return;
 
@@ -47,38 +48,74 @@ public class SavedPostService {
         sp.setUser(user);
         sp.setSavedAt(LocalDateTime.now());
 
-        Integer savedCount = managedPost.getSavedCount();
-        if (savedCount == null) savedCount = 0;
-        managedPost.setSavedCount(savedCount + 1);
-
-        // DAO persist SavedPost + merge Post
+        // DAO: INSERT saved_posts + saved_count = saved_count + 1 в одной транзакции
         savedPostDao.save(sp);
-        post.setSavedCount(managedPost.getSavedCount());
+        post.setSavedCount(countOf(managedPost) + 1);
+        FeedCache.getInstance().onSavedChanged(user.getId());
     }
 
-    public void unsave(Post post, User user) {
-        if (post == null || user == null) return;
-        if (post.getId() == null || user.getId() == null) return;
+    /** @return false, если запись и так не была сохранена */
+    public boolean unsave(Post post, User user) {
+        if (post == null || user == null) return false;
+        if (post.getId() == null || user.getId() == null) return false;
 
         Post managedPost = postDAO.findById(post.getId());
-        if (managedPost == null) return;
+        if (managedPost == null) return false;
 
         SavedPost sp = savedPostDao.findByUserAndPost(user, managedPost);
-        if (sp == null) return;
-
-        Integer savedCount = managedPost.getSavedCount();
-        if (savedCount == null) savedCount = 0;
-        if (savedCount > 0) savedCount--;
-        managedPost.setSavedCount(savedCount);
+        if (sp == null) return false;
 
+        // DAO: DELETE saved_posts + saved_count = saved_count - 1 в одной транзакции
         savedPostDao.delete(sp);
+        FeedCache.getInstance().onSavedChanged(user.getId());
 
         // Повторно синхронизируйте POST-объект в пользовательском интерфейсе.
-        post.setSavedCount(managedPost.getSavedCount());
+        post.setSavedCount(Math.max(0, countOf(managedPost) - 1));
+        return true;
+    }
+
+    private static int countOf(Post post) {
+        return post.getSavedCount() != null ? post.getSavedCount() : 0;
+    }
+
+    public List<PostSummary> getSavedPostSummaries(User user) {
+        if (user == null || user.getId() == null) return List.of();
+        return savedPostDao.findSavedSummariesByUser(user.getId());
     }
 
     public List<Post> getSavedPosts(User user) {
         if (user == null || user.getId() == null) return List.of();
         return savedPostDao.findSavedPostsByUser(user);
     }
+
+    // ===== Async =====
+
+    public CompletableFuture<Boolean> isSavedAsync(Post post, User user) {
+        return DbExecutor.supply(() -> isSaved(post, user));
+    }
+
+    /** Сохранить, если не сохранена, иначе убрать. @return новое состояние */
+    public CompletableFuture<Boolean> toggleAsync(Post post, User user) {
+        return DbExecutor.supply(() -> {
+            if (isSaved(post, user)) {
+                unsave(post, user);
+                return false;
+            }
+            save(post, user);
+            return true;
+        });
+    }
+
+    /** Убрать из сохранённых по id (в списке только PostSummary). */
+    public CompletableFuture<Boolean> unsaveAsync(Long postId, User user) {
+        return DbExecutor.supply(() -> {
+            if (postId == null) return false;
+            Post post = postDAO.findById(postId);
+            return post != null && unsave(post, user);
+        });
+    }
+
+    public CompletableFuture<List<PostSummary>> getSavedPostSummariesAsync(User user) {
+        return DbExecutor.supply(() -> getSavedPostSummaries(user));
+    }
 }
@@ -1,10 +1,16 @@
 package org.example.blog.service;
 
 import org.example.blog.model.Topic;
+import org.example.blog.util.DbExecutor;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface TopicService {
     List<Topic> findAllTopics();
     Topic findById(Long id);
+
+    default CompletableFuture<List<Topic>> findAllTopicsAsync() {
+        return DbExecutor.supply(this::findAllTopics);
+    }
 }
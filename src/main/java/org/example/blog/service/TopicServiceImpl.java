@@ -1,5 +1,6 @@
 package org.example.blog.service;
 
+import org.example.blog.dao.DaoFactory;
 import org.example.blog.dao.TopicDAO;
 import org.example.blog.model.Topic;
 
@@ -7,7 +8,7 @@ import java.util.List;
 
 public class TopicServiceImpl implements TopicService {
 
-    private final TopicDAO topicDAO = new TopicDAO();
+    private final TopicDAO topicDAO = DaoFactory.topicDao();
 
     @Override
     public List<Topic> findAllTopics() {
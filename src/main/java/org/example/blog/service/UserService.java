@@ -1,6 +1,9 @@
 package org.example.blog.service;
 
 import org.example.blog.model.User;
+import org.example.blog.util.DbExecutor;
+
+import java.util.concurrent.CompletableFuture;
 
 public interface UserService {
 
@@ -11,4 +14,22 @@ public interface UserService {
     User findById(Long id);
 
     boolean updateProfile(User user);
+
+    // Async-варианты для контроллеров (выполняются в DbExecutor)
+
+    default CompletableFuture<Boolean> registerAsync(User user) {
+        return DbExecutor.supply(() -> register(user));
+    }
+
+    default CompletableFuture<User> loginAsync(String username, String password) {
+        return DbExecutor.supply(() -> login(username, password));
+    }
+
+    default CompletableFuture<User> findByIdAsync(Long id) {
+        return DbExecutor.supply(() -> findById(id));
+    }
+
+    default CompletableFuture<Boolean> updateProfileAsync(User user) {
+        return DbExecutor.supply(() -> updateProfile(user));
+    }
 }
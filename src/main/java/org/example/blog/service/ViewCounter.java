@@ -0,0 +1,153 @@
+package org.example.blog.service;
+
+import org.example.blog.dao.DaoFactory;
+import org.example.blog.dao.PostDAO;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Счётчик просмотров с отложенной записью (write-behind).
+ *
+ * Просмотр — только инкремент в памяти (LongAdder на запись: ячейки разнесены по потокам,
+ * одновременные читатели не мешают друг другу и ничего не теряют). Накопленное уходит в БД
+ * пачкой UPDATE posts SET views = views + ? — по таймеру, при наборе порога и при выходе
+ * (MainApp.stop). Если запись не удалась, приращения возвращаются в счётчики.
+ *
+ * Views в БД (и в карточках) отстают от реальных не больше чем на интервал сброса.
+ */
+public class ViewCounter {
+
+    /** Интервал и порог сброса: -Dviews.flushIntervalMs=..., -Dviews.flushThreshold=... */
+    private static final long FLUSH_INTERVAL_MS = Long.getLong("views.flushIntervalMs", 5000);
+    private static final long FLUSH_THRESHOLD = Long.getLong("views.flushThreshold", 500);
+
+    private static final ViewCounter INSTANCE = new ViewCounter(DaoFactory.postDao());
+
+    public static ViewCounter getInstance() {
+        return INSTANCE;
+    }
+
+    private final PostDAO postDAO;
+
+    // записи не удаляются: иначе инкремент в только что удалённый счётчик потеряется;
+    // ключей не больше, чем просмотренных записей
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final LongAdder pendingTotal = new LongAdder();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "view-counter");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean thresholdFlushQueued = new AtomicBoolean();
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private final LongAdder recorded = new LongAdder();
+    private final AtomicLong flushed = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong rowsUpdated = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+
+    ViewCounter(PostDAO postDAO) {
+        this.postDAO = postDAO;
+    }
+
+    /** Один просмотр записи. */
+    public void increment(Long postId) {
+        if (postId == null) return;
+        startIfNeeded();
+
+        pending.computeIfAbsent(postId, id -> new LongAdder()).increment();
+        pendingTotal.increment();
+        recorded.increment();
+
+        if (pendingTotal.sum() >= FLUSH_THRESHOLD && thresholdFlushQueued.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                thresholdFlushQueued.set(false);
+                flushQuietly();
+            });
+        }
+    }
+
+    private void startIfNeeded() {
+        if (started.compareAndSet(false, true) && FLUSH_INTERVAL_MS > 0) {
+            scheduler.scheduleWithFixedDelay(this::flushQuietly,
+                    FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Записать накопленное в БД; возвращает число записанных просмотров.
+     * Сбросы не идут параллельно (synchronized): одна транзакция за раз.
+     */
+    public synchronized long flush() {
+        Map<Long, Long> deltas = new HashMap<>();
+        long total = 0;
+        for (Map.Entry<Long, LongAdder> e : pending.entrySet()) {
+            long n = e.getValue().sumThenReset();
+            if (n > 0) {
+                deltas.put(e.getKey(), n);
+                total += n;
+            }
+        }
+        if (deltas.isEmpty()) return 0;
+        pendingTotal.add(-total);
+
+        try {
+            rowsUpdated.addAndGet(postDAO.addViews(deltas));
+        } catch (RuntimeException e) {
+            // вернуть на следующий сброс
+            deltas.forEach((id, n) -> pending.computeIfAbsent(id, k -> new LongAdder()).add(n));
+            pendingTotal.add(total);
+            failedFlushes.incrementAndGet();
+            throw e;
+        }
+        flushed.addAndGet(total);
+        flushes.incrementAndGet();
+        return total;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            System.err.println("Не удалось записать просмотры: " + e);
+        }
+    }
+
+    /** При выходе: остановить таймер и записать всё, что накопилось. */
+    public void shutdown() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+    }
+
+    // ===== Метрики =====
+
+    /** Просмотры в памяти, ещё не записанные в БД. */
+    public long getPending() {
+        return pendingTotal.sum();
+    }
+
+    public long getFlushed() {
+        return flushed.get();
+    }
+
+    public String getStats() {
+        return String.format("recorded=%d pending=%d flushed=%d flushes=%d rows=%d failed=%d",
+                recorded.sum(), pendingTotal.sum(), flushed.get(), flushes.get(),
+                rowsUpdated.get(), failedFlushes.get());
+    }
+}
@@ -0,0 +1,165 @@
+package org.example.blog.service;
+
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Один засчитанный просмотр на пару (читатель, запись) за окно времени: повторное открытие
+ * записи (лента -> запись -> лента -> запись) не пишет в БД ничего.
+ *
+ * Режимы (-Dviews.dedup.mode):
+ * - EXACT — пары с временем первого просмотра, в порядке добавления; просроченные удаляются
+ *   с головы, при переполнении (views.dedup.maxEntries) вытесняются старейшие;
+ * - BLOOM — два фильтра Блума (текущее и прошлое окно), память фиксирована (views.dedup.bloomBits)
+ *   при любом числе читателей; пара "помнится" от одного до двух окон, ложное срабатывание —
+ *   незасчитанный просмотр.
+ * Окно — views.dedup.windowMinutes (0 — без дедупликации).
+ *
+ * Пара упаковывается в long (userId в старших 32 битах): для id больше 2^32 возможны
+ * совпадения — тогда просмотр не засчитается, не более.
+ */
+public class ViewDeduplicator {
+
+    public enum Mode {
+        EXACT, BLOOM
+    }
+
+    private static final long WINDOW_MS = TimeUnit.MINUTES.toMillis(Long.getLong("views.dedup.windowMinutes", 30));
+    private static final Mode MODE = Mode.valueOf(System.getProperty("views.dedup.mode", Mode.EXACT.name()));
+    private static final int MAX_ENTRIES = Integer.getInteger("views.dedup.maxEntries", 100_000);
+    private static final int BLOOM_BITS = Integer.getInteger("views.dedup.bloomBits", 1 << 23);
+    private static final int BLOOM_HASHES = 4;
+
+    // у счётчика Post.views и у журнала post_views — свои окна: один и тот же просмотр идёт в оба
+    private static final ViewDeduplicator COUNTER = new ViewDeduplicator(MODE, WINDOW_MS, MAX_ENTRIES, BLOOM_BITS);
+    private static final ViewDeduplicator VIEW_LOG = new ViewDeduplicator(MODE, WINDOW_MS, MAX_ENTRIES, BLOOM_BITS);
+
+    /** Для PostService.increaseViews. */
+    public static ViewDeduplicator forCounter() {
+        return COUNTER;
+    }
+
+    /** Для PostViewService.logView. */
+    public static ViewDeduplicator forViewLog() {
+        return VIEW_LOG;
+    }
+
+    private final Mode mode;
+    private final long windowMs;
+    private final int maxEntries;
+
+    // EXACT: ключ пары -> время, когда просмотр засчитан
+    private final LinkedHashMap<Long, Long> seen;
+
+    // BLOOM
+    private final int bloomBits;
+    private BitSet current;
+    private BitSet previous;
+    private long currentSince;
+
+    private long checked;
+    private long suppressed;
+    private long evicted;
+
+    ViewDeduplicator(Mode mode, long windowMs, int maxEntries, int bloomBits) {
+        this.mode = mode;
+        this.windowMs = windowMs;
+        this.maxEntries = maxEntries;
+        this.bloomBits = bloomBits;
+
+        this.seen = new LinkedHashMap<>(1024) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                if (size() > ViewDeduplicator.this.maxEntries) {
+                    evicted++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        if (mode == Mode.BLOOM) {
+            current = new BitSet(bloomBits);
+            previous = new BitSet(bloomBits);
+            currentSince = System.currentTimeMillis();
+        }
+    }
+
+    /** true — первый просмотр пары в окне, его нужно засчитать; без читателя — всегда true. */
+    public boolean firstView(Long userId, Long postId) {
+        if (postId == null) return false;
+        if (userId == null || windowMs <= 0) return true;
+
+        long key = (userId << 32) ^ (postId & 0xFFFFFFFFL);
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            checked++;
+            boolean first = mode == Mode.BLOOM ? firstInBloom(key, now) : firstInMap(key, now);
+            if (!first) suppressed++;
+            return first;
+        }
+    }
+
+    private boolean firstInMap(long key, long now) {
+        expire(now);
+        if (seen.containsKey(key)) return false;
+        seen.put(key, now);
+        return true;
+    }
+
+    // порядок добавления = порядок времени: просроченные всегда в голове
+    private void expire(long now) {
+        Iterator<Long> it = seen.values().iterator();
+        while (it.hasNext() && now - it.next() >= windowMs) {
+            it.remove();
+        }
+    }
+
+    private boolean firstInBloom(long key, long now) {
+        if (now - currentSince >= windowMs) {
+            // прошло окно: текущий фильтр становится прошлым; если прошло два — забываем оба
+            previous = now - currentSince >= 2 * windowMs ? new BitSet(bloomBits) : current;
+            current = new BitSet(bloomBits);
+            currentSince = now;
+        }
+
+        int h1 = (int) mix(key);
+        int h2 = (int) (mix(key) >>> 32) | 1;
+        boolean inCurrent = true;
+        boolean inPrevious = true;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bloomBits);
+            inCurrent &= current.get(bit);
+            inPrevious &= previous.get(bit);
+        }
+        if (inCurrent || inPrevious) return false;
+
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            current.set(Math.floorMod(h1 + i * h2, bloomBits));
+        }
+        return true;
+    }
+
+    // финализатор SplitMix64: равномерные биты из соседних id
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // ===== Метрики =====
+
+    public synchronized long getSuppressed() {
+        return suppressed;
+    }
+
+    public synchronized String getStats() {
+        String size = mode == Mode.BLOOM
+                ? "bits=" + current.cardinality() + "+" + previous.cardinality() + "/" + bloomBits
+                : "entries=" + seen.size() + "/" + maxEntries + " evicted=" + evicted;
+        return String.format("mode=%s window=%dmin checked=%d counted=%d suppressed=%d %s",
+                mode, TimeUnit.MILLISECONDS.toMinutes(windowMs), checked, checked - suppressed, suppressed, size);
+    }
+}
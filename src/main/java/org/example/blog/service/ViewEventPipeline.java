@@ -0,0 +1,282 @@
+package org.example.blog.service;
+
+import org.example.blog.dao.DaoFactory;
+import org.example.blog.dao.PostViewDao;
+import org.example.blog.model.Post;
+import org.example.blog.model.PostView;
+import org.example.blog.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Журнал просмотров (post_views) без транзакции на каждый просмотр.
+ *
+ * Просмотр — кортеж (userId, postId, время) в ограниченную очередь; offer не блокирует.
+ * Фоновый поток забирает пачку (до batchSize событий или maxDelay после первого)
+ * и пишет её PostViewDao.saveAll: JDBC-батчи, драйвер склеивает их в многострочный INSERT.
+ *
+ * Если БД не успевает и очередь заполняется — политика переполнения (views.queue.policy):
+ * - DROP_NEWEST — новое событие отбрасывается;
+ * - DROP_OLDEST — вытесняется самое старое (сохраняется свежая активность);
+ * - SAMPLE — с заполнения на 3/4 принимается каждое views.queue.sampleRate-е событие,
+ *   при полной очереди — как DROP_NEWEST.
+ * Если пачку не удалось записать, из неё убираются события удалённых записей и читателей
+ * (их внешний ключ не пропустит никогда, считаются в rejected) и остаток пишется сразу.
+ * Не помогло (БД недоступна) — повтор с паузой (до MAX_ATTEMPTS раз), новые события
+ * тем временем копятся в очереди — до её предела; потерянными (lost) считаются только они.
+ */
+public class ViewEventPipeline {
+
+    public enum OverflowPolicy {
+        DROP_NEWEST, DROP_OLDEST, SAMPLE
+    }
+
+    /** -Dviews.queue.capacity, -Dviews.queue.policy, -Dviews.queue.sampleRate, -Dviews.batchSize, -Dviews.maxDelayMs */
+    private static final int CAPACITY = Integer.getInteger("views.queue.capacity", 10_000);
+    private static final OverflowPolicy POLICY =
+            OverflowPolicy.valueOf(System.getProperty("views.queue.policy", OverflowPolicy.DROP_OLDEST.name()));
+    private static final int SAMPLE_RATE = Integer.getInteger("views.queue.sampleRate", 4);
+    private static final int BATCH_SIZE = Integer.getInteger("views.batchSize", 500);
+    private static final long MAX_DELAY_MS = Long.getLong("views.maxDelayMs", 1000);
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_PAUSE_MS = 2000;
+
+    private static final ViewEventPipeline INSTANCE =
+            new ViewEventPipeline(DaoFactory.postViewDao(), CAPACITY, POLICY, BATCH_SIZE, MAX_DELAY_MS);
+
+    public static ViewEventPipeline getInstance() {
+        return INSTANCE;
+    }
+
+    private static final class Event {
+        final long userId;
+        final long postId;
+        final LocalDateTime viewedAt;
+
+        Event(long userId, long postId, LocalDateTime viewedAt) {
+            this.userId = userId;
+            this.postId = postId;
+            this.viewedAt = viewedAt;
+        }
+    }
+
+    private final PostViewDao postViewDao;
+    private final BlockingQueue<Event> queue;
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final int batchSize;
+    private final long maxDelayMs;
+
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong sampledOut = new AtomicLong();
+    private final AtomicLong sampleCounter = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong maxBatch = new AtomicLong();
+    private final AtomicLong maxDepth = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final AtomicLong lostOnFailure = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    ViewEventPipeline(PostViewDao postViewDao, int capacity, OverflowPolicy policy, int batchSize, long maxDelayMs) {
+        this.postViewDao = postViewDao;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.capacity = capacity;
+        this.policy = policy;
+        this.batchSize = batchSize;
+        this.maxDelayMs = maxDelayMs;
+
+        writer = new Thread(this::writeLoop, "view-events");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /** Поставить просмотр в очередь; false — отброшен политикой переполнения. Не блокирует. */
+    public boolean offer(Long userId, Long postId) {
+        if (userId == null || postId == null) return false;
+        Event event = new Event(userId, postId, LocalDateTime.now());
+
+        if (policy == OverflowPolicy.SAMPLE && queue.size() >= capacity * 3 / 4
+                && sampleCounter.incrementAndGet() % SAMPLE_RATE != 0) {
+            sampledOut.incrementAndGet();
+            return false;
+        }
+
+        boolean ok = queue.offer(event);
+        if (!ok && policy == OverflowPolicy.DROP_OLDEST) {
+            // место освобождаем сами; при гонке с другими offer — не больше пары попыток
+            for (int i = 0; i < 2 && !ok; i++) {
+                if (queue.poll() != null) dropped.incrementAndGet();
+                ok = queue.offer(event);
+            }
+        }
+        if (!ok) {
+            dropped.incrementAndGet();
+            return false;
+        }
+
+        accepted.incrementAndGet();
+        maxDepth.accumulateAndGet(queue.size(), Math::max);
+        return true;
+    }
+
+    private void writeLoop() {
+        List<Event> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Event first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                // добираем пачку, но не дольше maxDelay после первого события
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    if (batch.size() >= batchSize) break;
+                    long left = deadline - System.nanoTime();
+                    if (left <= 0) break;
+                    Event next = queue.poll(left, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+
+                writeWithRetry(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                // shutdown(): остаток очереди запишет он сам
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        // пачка, которую прервали на сборке, не теряется
+        if (!batch.isEmpty()) {
+            lostOnFailure.addAndGet(writeOnce(batch).size());
+        }
+    }
+
+    private void writeWithRetry(List<Event> batch) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            batch = writeOnce(batch);
+            if (batch.isEmpty()) return;
+            if (attempt >= MAX_ATTEMPTS || !running) {
+                lostOnFailure.addAndGet(batch.size());
+                return;
+            }
+            Thread.sleep(RETRY_PAUSE_MS * attempt);
+        }
+    }
+
+    /**
+     * Записать пачку; не вышло — отбраковать события удалённых записей и читателей и записать остаток.
+     * Возвращает то, что записать не удалось (пусто — всё записано или отбраковано).
+     */
+    private List<Event> writeOnce(List<Event> batch) {
+        if (write(batch)) return List.of();
+
+        List<Event> valid = withExistingReferences(batch);
+        if (valid.size() == batch.size()) return batch;
+        rejected.addAndGet(batch.size() - valid.size());
+        return valid.isEmpty() || write(valid) ? List.of() : valid;
+    }
+
+    // проверка сама не удалась (БД недоступна) — пачка как есть, её повторит writeWithRetry
+    private List<Event> withExistingReferences(List<Event> batch) {
+        Set<Long> postIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        for (Event e : batch) {
+            postIds.add(e.postId);
+            userIds.add(e.userId);
+        }
+        try {
+            postIds = postViewDao.findExistingPostIds(postIds);
+            userIds = postViewDao.findExistingUserIds(userIds);
+        } catch (RuntimeException ex) {
+            return batch;
+        }
+
+        List<Event> valid = new ArrayList<>(batch.size());
+        for (Event e : batch) {
+            if (postIds.contains(e.postId) && userIds.contains(e.userId)) valid.add(e);
+        }
+        return valid;
+    }
+
+    private boolean write(List<Event> batch) {
+        List<PostView> rows = new ArrayList<>(batch.size());
+        for (Event e : batch) {
+            // saveAll берёт только id (getReference), полные сущности не нужны
+            Post post = new Post();
+            post.setId(e.postId);
+            User user = new User();
+            user.setId(e.userId);
+
+            PostView view = new PostView();
+            view.setPost(post);
+            view.setUser(user);
+            view.setViewedAt(e.viewedAt);
+            rows.add(view);
+        }
+
+        try {
+            postViewDao.saveAll(rows);
+        } catch (RuntimeException ex) {
+            failedBatches.incrementAndGet();
+            System.err.println("Не удалось записать просмотры (" + batch.size() + "): " + ex);
+            return false;
+        }
+        written.addAndGet(batch.size());
+        batches.incrementAndGet();
+        maxBatch.accumulateAndGet(batch.size(), Math::max);
+        return true;
+    }
+
+    /** При выходе: остановить поток и записать всё, что осталось в очереди. */
+    public void shutdown() {
+        running = false;
+        writer.interrupt();
+        try {
+            writer.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<Event> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        for (int from = 0; from < rest.size(); from += batchSize) {
+            List<Event> batch = rest.subList(from, Math.min(rest.size(), from + batchSize));
+            lostOnFailure.addAndGet(writeOnce(batch).size());
+        }
+    }
+
+    // ===== Метрики =====
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public double getAverageBatchSize() {
+        long n = batches.get();
+        return n == 0 ? 0.0 : (double) written.get() / n;
+    }
+
+    public String getStats() {
+        return String.format("depth=%d/%d (max %d) policy=%s accepted=%d dropped=%d sampledOut=%d "
+                        + "written=%d batches=%d avgBatch=%.1f maxBatch=%d failedBatches=%d rejected=%d lost=%d",
+                queue.size(), capacity, maxDepth.get(), policy, accepted.get(), dropped.get(), sampledOut.get(),
+                written.get(), batches.get(), getAverageBatchSize(), maxBatch.get(),
+                failedBatches.get(), rejected.get(), lostOnFailure.get());
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.blog.util;
+
+import org.example.blog.dao.DaoFactory;
+import org.example.blog.dao.PostViewDao;
+import org.example.blog.model.Post;
+import org.example.blog.model.PostView;
+import org.example.blog.model.User;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Замер скорости вставки PostView (строк/сек):
+ * - "до": построчно через PostViewDao.save (одна транзакция и один INSERT на строку);
+ * - "после": PostViewDao.saveAll (sequence + JDBC-батчи, один flush на пачку).
+ *
+ * Запускать на dev-базе: вставленные строки удаляются в конце.
+ * Количество строк: первый аргумент (по умолчанию 2000).
+ */
+public class BatchInsertBenchmarkMain {
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+
+        EntityManager em = JpaUtil.getEntityManager();
+        User user;
+        Post post;
+        try {
+            List<User> users = em.createQuery("SELECT u FROM User u ORDER BY u.id", User.class)
+                    .setMaxResults(1).getResultList();
+            List<Post> posts = em.createQuery("SELECT p FROM Post p ORDER BY p.id", Post.class)
+                    .setMaxResults(1).getResultList();
+            if (users.isEmpty() || posts.isEmpty()) {
+                System.out.println("Нужен хотя бы один пользователь и одна запись в БД.");
+                return;
+            }
+            user = users.get(0);
+            post = posts.get(0);
+        } finally {
+            em.close();
+        }
+
+        PostViewDao dao = DaoFactory.postViewDao();
+        LocalDateTime startedAt = LocalDateTime.now();
+
+        try {
+            // прогрев (JIT, пул, план запроса)
+            dao.saveAll(makeViews(user, post, 100));
+
+            long t0 = System.nanoTime();
+            for (int i = 0; i < rows; i++) {
+                dao.save(new PostView(user, post));
+            }
+            long rowByRowNanos = System.nanoTime() - t0;
+
+            long t1 = System.nanoTime();
+            dao.saveAll(makeViews(user, post, rows));
+            long batchNanos = System.nanoTime() - t1;
+
+            System.out.printf("Строк: %d%n", rows);
+            System.out.printf("Построчно (save):  %8.0f строк/сек (%d мс)%n",
+                    rowsPerSec(rows, rowByRowNanos), rowByRowNanos / 1_000_000);
+            System.out.printf("Батчем (saveAll):  %8.0f строк/сек (%d мс)%n",
+                    rowsPerSec(rows, batchNanos), batchNanos / 1_000_000);
+            System.out.println(JpaUtil.getPoolMetrics());
+            System.out.println(DaoMetrics.dump());
+        } finally {
+            cleanup(user, startedAt);
+            JpaUtil.close();
+        }
+    }
+
+    private static List<PostView> makeViews(User user, Post post, int n) {
+        List<PostView> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            list.add(new PostView(user, post));
+        }
+        return list;
+    }
+
+    private static double rowsPerSec(int rows, long nanos) {
+        return nanos == 0 ? 0 : rows * 1_000_000_000.0 / nanos;
+    }
+
+    private static void cleanup(User user, LocalDateTime since) {
+        EntityManager em = JpaUtil.getEntityManager();
+        try {
+            em.getTransaction().begin();
+            int deleted = em.createQuery(
+                            "DELETE FROM PostView v WHERE v.user = :user AND v.viewedAt >= :since")
+                    .setParameter("user", user)
+                    .setParameter("since", since)
+                    .executeUpdate();
+            em.getTransaction().commit();
+            System.out.println("Удалено тестовых строк: " + deleted);
+        } catch (Exception e) {
+            if (em.getTransaction().isActive()) em.getTransaction().rollback();
+            e.printStackTrace();
+        } finally {
+            em.close();
+        }
+    }
+}
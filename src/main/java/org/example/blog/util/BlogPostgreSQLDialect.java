@@ -0,0 +1,20 @@
+package org.example.blog.util;
+
+import org.hibernate.dialect.PostgreSQL10Dialect;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Диалект PostgreSQL с функциями полнотекстового поиска для JPQL.
+ * Сам tsvector (posts.search_vector) в сущность не отображается —
+ * его ведёт триггер из миграции V5.
+ */
+public class BlogPostgreSQLDialect extends PostgreSQL10Dialect {
+
+    public BlogPostgreSQLDialect() {
+        super();
+        // fts_match(p.id, :query) = true — запись находится полнотекстовым поиском (GIN-индекс)
+        registerFunction("fts_match", new SQLFunctionTemplate(StandardBasicTypes.BOOLEAN,
+                "(?1 IN (SELECT fts.id FROM posts fts WHERE fts.search_vector @@ posts_search_query(?2)))"));
+    }
+}
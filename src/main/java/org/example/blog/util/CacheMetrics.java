@@ -0,0 +1,102 @@
+package org.example.blog.util;
+
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Попадания / промахи кэша второго уровня (общие и по регионам),
+ * читаются из Statistics Hibernate в момент вызова.
+ */
+public class CacheMetrics {
+
+    /** Снимок одного региона. */
+    public static class RegionStat {
+        private final long hits;
+        private final long misses;
+        private final long puts;
+        private final long elementsInMemory;
+
+        public RegionStat(long hits, long misses, long puts, long elementsInMemory) {
+            this.hits = hits;
+            this.misses = misses;
+            this.puts = puts;
+            this.elementsInMemory = elementsInMemory;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getPuts() {
+            return puts;
+        }
+
+        public long getElementsInMemory() {
+            return elementsInMemory;
+        }
+
+        public double getHitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d misses=%d puts=%d size=%d ratio=%.2f",
+                    hits, misses, puts, elementsInMemory, getHitRatio());
+        }
+    }
+
+    private final Statistics statistics;
+
+    CacheMetrics(Statistics statistics) {
+        this.statistics = statistics;
+    }
+
+    public long getHitCount() {
+        return statistics.getSecondLevelCacheHitCount();
+    }
+
+    public long getMissCount() {
+        return statistics.getSecondLevelCacheMissCount();
+    }
+
+    public long getQueryCacheHitCount() {
+        return statistics.getQueryCacheHitCount();
+    }
+
+    public long getQueryCacheMissCount() {
+        return statistics.getQueryCacheMissCount();
+    }
+
+    /** Статистика по каждому региону (entity, коллекции, query cache). */
+    public Map<String, RegionStat> getRegions() {
+        Map<String, RegionStat> result = new LinkedHashMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics rs = statistics.getCacheRegionStatistics(region);
+            if (rs == null) continue;
+            result.put(region, new RegionStat(
+                    rs.getHitCount(), rs.getMissCount(), rs.getPutCount(), rs.getElementCountInMemory()));
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("L2 cache: hits=")
+                .append(getHitCount())
+                .append(" misses=").append(getMissCount())
+                .append(" queryHits=").append(getQueryCacheHitCount())
+                .append(" queryMisses=").append(getQueryCacheMissCount());
+        getRegions().forEach((name, stat) ->
+                sb.append(System.lineSeparator()).append("  ").append(name).append(": ").append(stat));
+        return sb.toString();
+    }
+}
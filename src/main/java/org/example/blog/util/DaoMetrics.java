@@ -0,0 +1,183 @@
+package org.example.blog.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Реестр метрик DAO в памяти процесса: для каждого метода — число вызовов,
+ * гистограмма задержек, строки в результате и число SQL на вызов.
+ * Вызовы дольше порога (dao.slowQueryMs) пишутся в stderr вместе с их SQL.
+ */
+public final class DaoMetrics {
+
+    /** Метрики одного метода ("PostDAO.findAllPublished"). */
+    public static class MethodStat {
+        private final String name;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder slowCalls = new LongAdder();
+
+        MethodStat(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCalls() {
+            return latency.getCount();
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public long getRows() {
+            return rows.sum();
+        }
+
+        public long getStatements() {
+            return statements.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public long getSlowCalls() {
+            return slowCalls.sum();
+        }
+
+        public double getRowsPerCall() {
+            long calls = getCalls();
+            return calls == 0 ? 0.0 : (double) getRows() / calls;
+        }
+
+        public double getStatementsPerCall() {
+            long calls = getCalls();
+            return calls == 0 ? 0.0 : (double) getStatements() / calls;
+        }
+
+        void reset() {
+            latency.reset();
+            rows.reset();
+            statements.reset();
+            errors.reset();
+            slowCalls.reset();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %s rows/call=%.1f sql/call=%.1f errors=%d slow=%d",
+                    name, latency, getRowsPerCall(), getStatementsPerCall(), getErrors(), getSlowCalls());
+        }
+    }
+
+    private static final Map<String, MethodStat> stats = new ConcurrentHashMap<>();
+
+    private static volatile long slowThresholdNanos = 200_000_000L;
+
+    private DaoMetrics() {
+    }
+
+    public static void setSlowThresholdMs(long ms) {
+        slowThresholdNanos = ms * 1_000_000L;
+    }
+
+    public static long getSlowThresholdMs() {
+        return slowThresholdNanos / 1_000_000L;
+    }
+
+    /** Выполнить вызов DAO с замером; имя — "Интерфейс.метод". */
+    public static <T> T measure(String name, Supplier<T> call) {
+        long sqlBefore = SqlStatementCounter.count();
+        SqlStatementCounter.begin();
+        long start = System.nanoTime();
+        T result = null;
+        boolean failed = true;
+        try {
+            result = call.get();
+            failed = false;
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            List<String> sql = SqlStatementCounter.end();
+            record(name, elapsed, failed ? 0 : rowsOf(result),
+                    SqlStatementCounter.count() - sqlBefore, failed, sql);
+        }
+    }
+
+    /** То же для void-методов. */
+    public static void measure(String name, Runnable call) {
+        measure(name, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    private static void record(String name, long nanos, long rowCount, long sqlCount,
+                               boolean failed, List<String> sql) {
+        MethodStat stat = stats.computeIfAbsent(name, MethodStat::new);
+        stat.latency.recordNanos(nanos);
+        stat.rows.add(rowCount);
+        stat.statements.add(sqlCount);
+        if (failed) {
+            stat.errors.increment();
+        }
+
+        if (nanos >= slowThresholdNanos) {
+            stat.slowCalls.increment();
+            StringBuilder sb = new StringBuilder()
+                    .append("[slow dao] ").append(name)
+                    .append(String.format(" %.1f ms", nanos / 1_000_000.0))
+                    .append(", sql=").append(sqlCount)
+                    .append(", rows=").append(rowCount);
+            for (String s : sql) {
+                sb.append(System.lineSeparator()).append("    ").append(s);
+            }
+            System.err.println(sb);
+        }
+    }
+
+    // Коллекция — её размер, null/void — 0, любое другое значение — одна строка
+    private static long rowsOf(Object result) {
+        if (result == null) return 0;
+        if (result instanceof Collection) return ((Collection<?>) result).size();
+        return 1;
+    }
+
+    /** Снимок по всем методам, самые "дорогие" по суммарному времени — первыми. */
+    public static List<MethodStat> getStats() {
+        List<MethodStat> result = new ArrayList<>(stats.values());
+        result.sort((a, b) -> Double.compare(
+                b.latency.getMeanMillis() * b.getCalls(),
+                a.latency.getMeanMillis() * a.getCalls()));
+        return result;
+    }
+
+    public static MethodStat get(String name) {
+        return stats.get(name);
+    }
+
+    public static void reset() {
+        stats.values().forEach(MethodStat::reset);
+    }
+
+    /** Текстовый отчёт для вывода по запросу. */
+    public static String dump() {
+        StringBuilder sb = new StringBuilder("DAO metrics (slow >= ")
+                .append(getSlowThresholdMs()).append(" ms):");
+        for (MethodStat stat : getStats()) {
+            sb.append(System.lineSeparator()).append("  ").append(stat);
+        }
+        return sb.toString();
+    }
+}
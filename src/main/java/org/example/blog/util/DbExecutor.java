@@ -0,0 +1,57 @@
+package org.example.blog.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Исполнитель для обращений к БД из UI (сервисные методы *Async).
+ *
+ * На Java 21+ — виртуальный поток на задачу; одновременных запросов всё равно не больше,
+ * чем соединений в пуле (Hikari держит остальных в ожидании). На Java 17 — пул
+ * обычных daemon-потоков.
+ */
+public final class DbExecutor {
+
+    private static final int FALLBACK_THREADS = 8;
+
+    private static boolean usesVirtualThreads;
+
+    private static final ExecutorService executor = create();
+
+    private DbExecutor() {
+    }
+
+    public static <T> CompletableFuture<T> supply(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    public static CompletableFuture<Void> run(Runnable task) {
+        return CompletableFuture.runAsync(task, executor);
+    }
+
+    /** Для логов/метрик: "virtual" или "platform". */
+    public static String getMode() {
+        return usesVirtualThreads ? "virtual" : "platform";
+    }
+
+    private static ExecutorService create() {
+        // проект собирается под Java 17, поэтому API Java 21 — через reflection
+        try {
+            Method m = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            ExecutorService vt = (ExecutorService) m.invoke(null);
+            usesVirtualThreads = true;
+            return vt;
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger n = new AtomicInteger();
+            return Executors.newFixedThreadPool(FALLBACK_THREADS, r -> {
+                Thread t = new Thread(r, "db-" + n.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+}
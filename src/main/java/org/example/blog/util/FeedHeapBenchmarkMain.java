@@ -0,0 +1,110 @@
+package org.example.blog.util;
+
+import org.example.blog.dao.DaoFactory;
+import org.example.blog.model.Post;
+import org.example.blog.model.PostStatus;
+import org.example.blog.model.PostSummary;
+
+import javax.persistence.EntityManager;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Сколько heap удерживает лента на 1000 строк:
+ * - "до": полные Post (content + EAGER author с favoriteTopics + topic), как прежний запрос ленты;
+ * - "после": PostSummary из PostDAO.findPublishedPage.
+ *
+ * Запускать на dev-базе с опубликованными записями (можно наполнить SeedAnalyticsDataMain),
+ * лучше с -XX:+UseSerialGC для стабильных цифр. Кол-во строк: первый аргумент (по умолчанию 1000).
+ */
+public class FeedHeapBenchmarkMain {
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+
+        try {
+            // прогрев: классы, план запроса, метамодель
+            loadEntities(rows);
+            loadSummaries(rows);
+
+            long before = retainedPer1000("Post (до)", () -> loadEntities(rows));
+            long after = retainedPer1000("PostSummary (после)", () -> loadSummaries(rows));
+
+            if (before > 0) {
+                System.out.printf("Экономия: %.1f%%%n", 100.0 * (before - after) / before);
+            }
+        } finally {
+            JpaUtil.close();
+        }
+    }
+
+    private static List<Post> loadEntities(int rows) {
+        EntityManager em = JpaUtil.getEntityManager();
+        try {
+            return em.createQuery(
+                            "SELECT p FROM Post p " +
+                                    "JOIN FETCH p.author " +
+                                    "JOIN FETCH p.topic " +
+                                    "WHERE p.status = :status " +
+                                    "ORDER BY p.createdAt DESC",
+                            Post.class)
+                    .setParameter("status", PostStatus.PUBLISHED)
+                    .setMaxResults(rows)
+                    .getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
+    private static List<PostSummary> loadSummaries(int rows) {
+        return DaoFactory.postDao().findPublishedPage(null, null, null, rows).getItems();
+    }
+
+    /** Прирост heap, пока результат жив (кэш второго уровня сбрасывается, чтобы считать только сам список). */
+    private static long retainedPer1000(String name, Supplier<List<?>> load) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        evictL2();
+        long base = usedAfterGc(memory);
+
+        List<?> result = load.get();
+        evictL2();
+        long used = usedAfterGc(memory) - base;
+
+        int n = result.size();
+        Reference.reachabilityFence(result);
+
+        if (n == 0) {
+            System.out.println(name + ": нет опубликованных записей");
+            return 0;
+        }
+        long per1000 = used * 1000 / n;
+        System.out.printf("%-20s строк %d, удержано %,d байт, на 1000 строк %,d байт%n",
+                name, n, used, per1000);
+        return per1000;
+    }
+
+    private static void evictL2() {
+        EntityManager em = JpaUtil.getEntityManager();
+        try {
+            em.getEntityManagerFactory().getCache().evictAll();
+        } finally {
+            em.close();
+        }
+    }
+
+    private static long usedAfterGc(MemoryMXBean memory) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
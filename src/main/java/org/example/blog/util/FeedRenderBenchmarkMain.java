@@ -0,0 +1,214 @@
+package org.example.blog.util;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import org.example.blog.controller.PostCardCell;
+import org.example.blog.model.Post;
+import org.example.blog.model.PostStatus;
+import org.example.blog.model.PostSummary;
+import org.example.blog.model.Topic;
+import org.example.blog.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Замер отрисовки ленты Reader на синтетических записях (без БД):
+ * - "до": VBox в ScrollPane, по карточке HBox на каждую запись;
+ * - "после": ListView + PostCardCell (создаются только видимые ячейки).
+ * Печатает время построения и первого layout, число узлов сцены и время пересортировки.
+ *
+ * Окно не показывается (Scene без Stage). Без дисплея — через Monocle
+ * (org.testfx:openjfx-monocle в classpath):
+ * -Dglass.platform=Monocle -Dmonocle.platform=Headless -Dprism.order=sw
+ * Количество записей: первый аргумент (по умолчанию 10000).
+ */
+public class FeedRenderBenchmarkMain {
+
+    private static final double WIDTH = 900;
+    private static final double HEIGHT = 700;
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        List<Post> posts = makePosts(count);
+
+        CountDownLatch started = new CountDownLatch(1);
+        Platform.startup(started::countDown);
+        started.await();
+
+        CountDownLatch done = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                // прогрев CSS/JIT на маленькой ленте
+                benchVBox(posts.subList(0, Math.min(200, count)), false);
+                benchListView(posts.subList(0, Math.min(200, count)), false);
+
+                System.out.printf("Записей: %d%n", count);
+                benchVBox(posts, true);
+                benchListView(posts, true);
+            } finally {
+                done.countDown();
+            }
+        });
+        done.await();
+        Platform.exit();
+    }
+
+    private static void benchVBox(List<Post> posts, boolean print) {
+        VBox container = new VBox(8);
+        ScrollPane scroll = new ScrollPane(container);
+        scroll.setFitToWidth(true);
+        Scene scene = new Scene(scroll, WIDTH, HEIGHT);
+        scene.getStylesheets().add(stylesheet());
+
+        long t0 = System.nanoTime();
+        for (Post p : posts) {
+            container.getChildren().add(legacyCard(p));
+        }
+        long build = System.nanoTime() - t0;
+
+        long t1 = System.nanoTime();
+        scroll.applyCss();
+        scroll.layout();
+        long layout = System.nanoTime() - t1;
+
+        // пересортировка = пересборка всех карточек, как было в ReaderController
+        long t2 = System.nanoTime();
+        container.getChildren().clear();
+        for (Post p : sortedByViews(posts)) {
+            container.getChildren().add(legacyCard(p));
+        }
+        scroll.applyCss();
+        scroll.layout();
+        long resort = System.nanoTime() - t2;
+
+        if (print) {
+            report("VBox (до)", build, layout, resort, countNodes(scene.getRoot()));
+        }
+    }
+
+    private static void benchListView(List<Post> posts, boolean print) {
+        List<PostSummary> summaries = new ArrayList<>(posts.size());
+        for (Post p : posts) {
+            summaries.add(toSummary(p));
+        }
+
+        ListView<PostSummary> list = new ListView<>();
+        list.getStyleClass().add("post-feed");
+        list.setCellFactory(lv -> new PostCardCell(null, null));
+        Scene scene = new Scene(list, WIDTH, HEIGHT);
+        scene.getStylesheets().add(stylesheet());
+
+        long t0 = System.nanoTime();
+        list.setItems(FXCollections.observableArrayList(summaries));
+        long build = System.nanoTime() - t0;
+
+        long t1 = System.nanoTime();
+        list.applyCss();
+        list.layout();
+        long layout = System.nanoTime() - t1;
+
+        long t2 = System.nanoTime();
+        List<PostSummary> sorted = new ArrayList<>(summaries);
+        sorted.sort(Comparator.comparing(PostSummary::getViews).reversed());
+        list.getItems().setAll(sorted);
+        list.applyCss();
+        list.layout();
+        long resort = System.nanoTime() - t2;
+
+        if (print) {
+            report("ListView (после)", build, layout, resort, countNodes(scene.getRoot()));
+        }
+    }
+
+    private static void report(String name, long build, long layout, long resort, int nodes) {
+        System.out.printf("%-17s построение %6d мс, первый layout %6d мс, пересортировка %6d мс, узлов %d%n",
+                name, build / 1_000_000, layout / 1_000_000, resort / 1_000_000, nodes);
+    }
+
+    // Карточка в прежнем виде (HBox + ImageView + три Label на запись)
+    private static Node legacyCard(Post post) {
+        HBox root = new HBox(12);
+        root.getStyleClass().addAll("card", "post-card");
+
+        ImageView thumb = new ImageView();
+        thumb.getStyleClass().add("post-thumbnail");
+        thumb.setFitWidth(140);
+        thumb.setFitHeight(90);
+        thumb.setPreserveRatio(true);
+
+        Label title = new Label(post.getTitle());
+        title.getStyleClass().add("post-title");
+        title.setWrapText(true);
+        Label meta = new Label(post.getAuthor().getFullName() + " | " + post.getTopic().getName()
+                + " | " + post.getViews() + " просмотров");
+        meta.getStyleClass().add("post-meta");
+        Label date = new Label(post.getCreatedAt().toString());
+        date.getStyleClass().add("post-date");
+
+        root.getChildren().addAll(thumb, new VBox(4, title, meta, date));
+        return root;
+    }
+
+    private static PostSummary toSummary(Post p) {
+        return new PostSummary(p.getId(), p.getTitle(),
+                p.getAuthor().getId(), p.getAuthor().getFullName(),
+                p.getTopic().getId(), p.getTopic().getName(),
+                p.getStatus(), p.getViews(), p.getCommentsCount(), p.getSavedCount(),
+                p.getThumbnailUrl(), p.getCreatedAt());
+    }
+
+    private static int countNodes(Node node) {
+        int n = 1;
+        if (node instanceof Parent) {
+            for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+                n += countNodes(child);
+            }
+        }
+        return n;
+    }
+
+    private static List<Post> sortedByViews(List<Post> posts) {
+        List<Post> sorted = new ArrayList<>(posts);
+        sorted.sort(Comparator.comparing(Post::getViews).reversed());
+        return sorted;
+    }
+
+    private static List<Post> makePosts(int count) {
+        User author = new User();
+        author.setFullName("Benchmark Author");
+        Topic topic = new Topic("Technology", "benchmark");
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Post> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Post p = new Post();
+            p.setId((long) i + 1);
+            p.setAuthor(author);
+            p.setTopic(topic);
+            p.setTitle("Запись #" + (i + 1) + " — заголовок средней длины для переноса строки");
+            p.setStatus(PostStatus.PUBLISHED);
+            p.setViews((i * 7919) % 10_000);
+            p.setCreatedAt(now.minusMinutes(i));
+            posts.add(p);
+        }
+        return posts;
+    }
+
+    private static String stylesheet() {
+        return FeedRenderBenchmarkMain.class
+                .getResource("/org/example/blog/view/styles.css").toExternalForm();
+    }
+}
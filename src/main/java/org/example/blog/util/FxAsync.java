@@ -0,0 +1,78 @@
+package org.example.blog.util;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.TableView;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Привязка результатов *Async-методов сервисов к UI: колбэки всегда в FX-потоке,
+ * пока идёт загрузка — заглушки (индикатор в таблице, "…" в метках).
+ */
+public final class FxAsync {
+
+    private static final String LOADING_TEXT = "…";
+
+    private FxAsync() {
+    }
+
+    /** onSuccess / onError вызываются в FX-потоке; onError получает исходное исключение. */
+    public static <T> void then(CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        future.whenComplete((result, error) -> Platform.runLater(() -> {
+            if (error == null) {
+                onSuccess.accept(result);
+            } else {
+                onError.accept(unwrap(error));
+            }
+        }));
+    }
+
+    /** То же, ошибка только в stderr. */
+    public static <T> void then(CompletableFuture<T> future, Consumer<T> onSuccess) {
+        then(future, onSuccess, Throwable::printStackTrace);
+    }
+
+    /**
+     * Загрузка строк таблицы: на время запроса — индикатор вместо placeholder,
+     * при ошибке — пустая таблица и onError.
+     */
+    public static <T> void loadInto(TableView<T> table, CompletableFuture<List<T>> future,
+                                    Consumer<Throwable> onError) {
+        Node placeholder = table.getPlaceholder();
+        ProgressIndicator progress = new ProgressIndicator();
+        progress.setMaxSize(40, 40);
+        table.setPlaceholder(progress);
+        table.getItems().clear();
+
+        then(future, rows -> {
+            table.setPlaceholder(placeholder);
+            table.setItems(FXCollections.observableArrayList(rows));
+        }, e -> {
+            table.setPlaceholder(placeholder);
+            table.setItems(FXCollections.observableArrayList());
+            onError.accept(e);
+        });
+    }
+
+    /** Метки показывают "…", пока значения не пришли. */
+    public static void loading(Label... labels) {
+        for (Label l : labels) {
+            if (l != null) l.setText(LOADING_TEXT);
+        }
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        while ((e instanceof CompletionException || e instanceof ExecutionException) && e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e;
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.blog.util;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Сторож: обращение к БД из FX-потока (JpaUtil.getEntityManager) пишется в stderr
+ * с местом вызова — один раз на место, дальше только счётчик.
+ * Такие вызовы должны идти через *Async-методы сервисов.
+ */
+public final class FxThreadWatchdog {
+
+    private static final String FX_THREAD = "JavaFX Application Thread";
+
+    private static final AtomicLong violations = new AtomicLong();
+    private static final Map<String, AtomicLong> bySite = new ConcurrentHashMap<>();
+
+    private FxThreadWatchdog() {
+    }
+
+    // по имени потока: Platform.isFxApplicationThread() поднимает Toolkit в консольных main
+    static void check() {
+        if (!FX_THREAD.equals(Thread.currentThread().getName())) return;
+
+        violations.incrementAndGet();
+        String site = callSite();
+        AtomicLong n = bySite.computeIfAbsent(site, k -> new AtomicLong());
+        if (n.getAndIncrement() == 0) {
+            System.err.println("[fx-db] обращение к БД в FX-потоке: " + site);
+        }
+    }
+
+    public static long getViolations() {
+        return violations.get();
+    }
+
+    public static Map<String, Long> getSites() {
+        Map<String, Long> result = new TreeMap<>();
+        bySite.forEach((site, n) -> result.put(site, n.get()));
+        return result;
+    }
+
+    public static String dump() {
+        StringBuilder sb = new StringBuilder("FX-thread DB access: ").append(violations.get());
+        getSites().forEach((site, n) ->
+                sb.append(System.lineSeparator()).append("  ").append(site).append(": ").append(n));
+        return sb.toString();
+    }
+
+    // первый кадр вне util/dao/service — контроллер, который сделал вызов
+    private static String callSite() {
+        for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
+            String cls = e.getClassName();
+            if (cls.startsWith("org.example.blog.")
+                    && !cls.startsWith("org.example.blog.util.")
+                    && !cls.startsWith("org.example.blog.dao.")
+                    && !cls.startsWith("org.example.blog.service.")) {
+                return cls.substring(cls.lastIndexOf('.') + 1) + "." + e.getMethodName() + ":" + e.getLineNumber();
+            }
+        }
+        return "unknown";
+    }
+}
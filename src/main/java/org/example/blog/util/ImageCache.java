@@ -0,0 +1,200 @@
+package org.example.blog.util;
+
+import javafx.scene.image.Image;
+
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Общий кэш декодированных картинок (миниатюры ленты, обложка записи, аватар, превью в форме).
+ *
+ * Путь из БД: media: (MediaStore), http(s):, classpath:/..., file:... или обычный путь к файлу.
+ * Картинка декодируется сразу в нужном размере (ширина x высота области, с сохранением
+ * пропорций) и в фоне; одна и та же пара (путь, размер) — один объект Image на всё приложение.
+ *
+ * LRU, ограничен оценкой памяти пикселей (ширина * высота * 4 байта):
+ * до окончания загрузки — по запрошенному размеру, после — по фактическому.
+ * Картинки с ошибкой загрузки не хранятся.
+ */
+public class ImageCache {
+
+    /** Предел памяти пикселей: -Dimage.cache.mb=... (0 — кэш выключен). */
+    private static final long MAX_BYTES = Integer.getInteger("image.cache.mb", 64) * 1024L * 1024L;
+
+    private static final int BYTES_PER_PIXEL = 4;
+
+    // оценка, если размер не задан и картинка ещё не загружена
+    private static final long UNKNOWN_SIZE_BYTES = 256L * 256L * BYTES_PER_PIXEL;
+
+    private static final ImageCache INSTANCE = new ImageCache(MAX_BYTES);
+
+    public static ImageCache getInstance() {
+        return INSTANCE;
+    }
+
+    private static final class Entry {
+        final Image image;
+        long bytes;
+
+        Entry(Image image, long bytes) {
+            this.image = image;
+            this.bytes = bytes;
+        }
+    }
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long bytes;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long evictedBytes;
+    private long errors;
+
+    ImageCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Картинка для области width x height (0 — по этой стороне без ограничения).
+     * null — пустой путь или ресурс classpath не найден.
+     */
+    public Image get(String path, double width, double height) {
+        String url = resolve(path);
+        if (url == null) return null;
+        if (maxBytes <= 0) return load(url, width, height);
+
+        String key = url + "@" + (int) width + "x" + (int) height;
+        synchronized (this) {
+            Entry e = entries.get(key);
+            if (e != null) {
+                hits++;
+                return e.image;
+            }
+            misses++;
+        }
+
+        Image image = load(url, width, height);
+        if (image.isError()) {
+            countError();
+            return image;
+        }
+
+        Entry entry = new Entry(image, estimateBytes(width, height));
+        synchronized (this) {
+            Entry existing = entries.get(key);
+            if (existing != null) {
+                return existing.image;
+            }
+            entries.put(key, entry);
+            bytes += entry.bytes;
+            trim();
+        }
+
+        // фоновая загрузка: после неё — фактический размер или удаление при ошибке
+        image.progressProperty().addListener((o, a, p) -> {
+            if (p.doubleValue() >= 1.0) onLoaded(key, entry);
+        });
+        image.errorProperty().addListener((o, a, failed) -> {
+            if (failed) onFailed(key, entry);
+        });
+        if (image.getProgress() >= 1.0) onLoaded(key, entry);
+        return image;
+    }
+
+    private static Image load(String url, double width, double height) {
+        return new Image(url, Math.max(width, 0), Math.max(height, 0), true, true, true);
+    }
+
+    /** URL для Image по пути из БД; null — картинки нет. */
+    public static String resolve(String path) {
+        if (path == null || path.isBlank()) return null;
+
+        if (path.startsWith("http://") || path.startsWith("https://") || path.startsWith("file:")) {
+            return path;
+        }
+        if (MediaStore.isRef(path)) {
+            try {
+                return MediaStore.getInstance().resolve(path).toUri().toString();
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        if (path.startsWith("classpath:")) {
+            URL url = ImageCache.class.getResource(path.substring("classpath:".length()));
+            return url != null ? url.toExternalForm() : null;
+        }
+        return "file:" + path;
+    }
+
+    private static long estimateBytes(double width, double height) {
+        if (width > 0 && height > 0) {
+            return (long) width * (long) height * BYTES_PER_PIXEL;
+        }
+        return UNKNOWN_SIZE_BYTES;
+    }
+
+    private synchronized void onLoaded(String key, Entry entry) {
+        Image image = entry.image;
+        if (image.isError() || entries.get(key) != entry) return;
+
+        long actual = (long) image.getWidth() * (long) image.getHeight() * BYTES_PER_PIXEL;
+        bytes += actual - entry.bytes;
+        entry.bytes = actual;
+        trim();
+    }
+
+    private synchronized void onFailed(String key, Entry entry) {
+        errors++;
+        if (entries.remove(key, entry)) {
+            bytes -= entry.bytes;
+        }
+    }
+
+    private synchronized void countError() {
+        errors++;
+    }
+
+    // самые давно использованные — первыми; последняя добавленная остаётся, даже если больше предела
+    private void trim() {
+        Iterator<Entry> it = entries.values().iterator();
+        while (bytes > maxBytes && entries.size() > 1 && it.hasNext()) {
+            Entry e = it.next();
+            it.remove();
+            bytes -= e.bytes;
+            evictions++;
+            evictedBytes += e.bytes;
+        }
+    }
+
+    // ===== Метрики =====
+
+    public synchronized double getHitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized String getStats() {
+        return String.format("entries=%d bytes=%dK/%dK hits=%d misses=%d ratio=%.2f evicted=%d (%dK) errors=%d",
+                entries.size(), bytes / 1024, maxBytes / 1024, hits, misses, getHitRatio(),
+                evictions, evictedBytes / 1024, errors);
+    }
+}
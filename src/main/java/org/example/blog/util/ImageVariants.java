@@ -0,0 +1,185 @@
+package org.example.blog.util;
+
+import javafx.concurrent.Task;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Загрузка картинки пользователя (обложка записи, аватар): копия оригинала и уменьшенные
+ * варианты под места показа, JPEG. Лента и профиль читают варианты, оригинал не декодируется.
+ * Файлы кладутся в MediaStore, результат — ссылки media:.
+ *
+ * Работа идёт в Task (фоновый поток, прогресс — progressProperty), FX-поток не блокируется.
+ */
+public final class ImageVariants {
+
+    /** Варианты: рамка (ширина x высота) с запасом x2 для HiDPI; меньше рамки картинка не растягивается. */
+    public enum Variant {
+        CARD(280, 180),         // PostCardCell 140x90
+        DETAIL(1480, 1480),     // PostDetailController, ширина 740
+        AVATAR_LARGE(240, 240); // AccountController 120x120
+
+        private final int maxWidth;
+        private final int maxHeight;
+
+        Variant(int maxWidth, int maxHeight) {
+            this.maxWidth = maxWidth;
+            this.maxHeight = maxHeight;
+        }
+    }
+
+    /** Результат загрузки: ссылки MediaStore на оригинал и варианты. */
+    public static final class Stored {
+        private final String original;
+        private final Map<Variant, String> variants;
+
+        Stored(String original, Map<Variant, String> variants) {
+            this.original = original;
+            this.variants = Collections.unmodifiableMap(variants);
+        }
+
+        public String getOriginal() {
+            return original;
+        }
+
+        public String get(Variant variant) {
+            return variants.get(variant);
+        }
+    }
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private static final AtomicInteger threadNo = new AtomicInteger();
+
+    // декодирование больших фото — память и CPU, поэтому по одной загрузке за раз
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "image-" + threadNo.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    private ImageVariants() {
+    }
+
+    /**
+     * Задача загрузки source; запускать через start.
+     * Шаги прогресса: копия оригинала, декодирование, по одному на вариант.
+     */
+    public static Task<Stored> upload(File source, Variant... variants) {
+        return new Task<>() {
+            @Override
+            protected Stored call() throws Exception {
+                int steps = 2 + variants.length;
+                updateProgress(0, steps);
+
+                MediaStore store = MediaStore.getInstance();
+                String original = store.put(source.toPath());
+                updateProgress(1, steps);
+
+                BufferedImage image = ImageIO.read(source);
+                if (image == null) {
+                    throw new IOException("Неподдерживаемый формат изображения: " + source.getName());
+                }
+                updateProgress(2, steps);
+
+                Map<Variant, String> paths = new EnumMap<>(Variant.class);
+                for (int i = 0; i < variants.length; i++) {
+                    if (isCancelled()) return null;
+                    Variant v = variants[i];
+                    Path tmp = store.createTemp();
+                    try {
+                        writeJpeg(resize(image, v.maxWidth, v.maxHeight), tmp);
+                        paths.put(v, store.putTemp(tmp, "jpg"));
+                    } finally {
+                        Files.deleteIfExists(tmp);
+                    }
+                    updateProgress(3 + i, steps);
+                }
+                return new Stored(original, paths);
+            }
+        };
+    }
+
+    public static void start(Task<?> task) {
+        executor.execute(task);
+    }
+
+    /**
+     * Вписать в рамку с сохранением пропорций. Сильное уменьшение — по шагам x0.5:
+     * билинейная интерполяция за один шаг теряет детали.
+     */
+    static BufferedImage resize(BufferedImage src, int maxWidth, int maxHeight) {
+        double scale = Math.min(1.0, Math.min((double) maxWidth / src.getWidth(), (double) maxHeight / src.getHeight()));
+        int targetW = Math.max(1, (int) Math.round(src.getWidth() * scale));
+        int targetH = Math.max(1, (int) Math.round(src.getHeight() * scale));
+
+        // JPEG без альфа-канала: прозрачное — на белом
+        BufferedImage current = toRgb(src);
+        int w = current.getWidth();
+        int h = current.getHeight();
+        while (w != targetW || h != targetH) {
+            w = Math.max(targetW, w / 2);
+            h = Math.max(targetH, h / 2);
+            current = draw(current, w, h);
+        }
+        return current;
+    }
+
+    private static BufferedImage toRgb(BufferedImage src) {
+        if (src.getType() == BufferedImage.TYPE_INT_RGB) return src;
+        return draw(src, src.getWidth(), src.getHeight());
+    }
+
+    private static BufferedImage draw(BufferedImage src, int w, int h) {
+        BufferedImage dst = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = dst.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, w, h);
+            g.drawImage(src, 0, 0, w, h, null);
+        } finally {
+            g.dispose();
+        }
+        return dst;
+    }
+
+    // во временный файл хранилища; на место его переносит MediaStore.putTemp
+    private static void writeJpeg(BufferedImage image, Path tmp) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) throw new IOException("Нет JPEG-кодировщика");
+        ImageWriter writer = writers.next();
+
+        try {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(tmp.toFile())) {
+                writer.setOutput(out);
+                writer.write(null, new IIOImage(image, null, null), param);
+            }
+        } finally {
+            writer.dispose();
+        }
+    }
+}
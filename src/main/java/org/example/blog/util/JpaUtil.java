@@ -1,29 +1,212 @@
 package org.example.blog.util;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.SessionFactory;
+
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.Persistence;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class JpaUtil {
 
-    private static final EntityManagerFactory emf;
+    /** Размер пачки для flush()/clear() при массовой вставке; совпадает с hibernate.jdbc.batch_size. */
+    public static final int BATCH_SIZE = 50;
+
+    private static final PoolMetrics poolMetrics = new PoolMetrics();
+
+    /** Готовность EntityManagerFactory; DAO ждут её в getEntityManager(). */
+    private static final CompletableFuture<EntityManagerFactory> ready = new CompletableFuture<>();
+    private static final AtomicBoolean started = new AtomicBoolean(false);
+
+    private static volatile HikariDataSource dataSource;
+    private static volatile EntityManagerFactory emf;
+    private static volatile CacheMetrics cacheMetrics;
+
+    /**
+     * Запускает сборку EntityManagerFactory (пул, миграции, метамодель) в фоновом потоке.
+     * Повторные вызовы возвращают тот же future.
+     */
+    public static CompletableFuture<EntityManagerFactory> startAsync() {
+        if (started.compareAndSet(false, true)) {
+            Thread t = new Thread(JpaUtil::bootstrap, "emf-bootstrap");
+            t.setDaemon(true);
+            t.start();
+        }
+        return ready;
+    }
+
+    public static boolean isReady() {
+        return ready.isDone() && !ready.isCompletedExceptionally();
+    }
 
-    static {
+    private static void bootstrap() {
         try {
-            emf = Persistence.createEntityManagerFactory("blogPU");
-        } catch (Exception e) {
+            Properties config = loadConfig();
+            DaoMetrics.setSlowThresholdMs(intProp(config, "dao.slowQueryMs", 200));
+            SearchPipeline.setQueryTimeoutMs(intProp(config, "search.queryTimeoutMs", 5000));
+            dataSource = createDataSource(config);
+
+            if (Boolean.parseBoolean(config.getProperty("pool.warmup", "true"))) {
+                warmUp(dataSource, dataSource.getMinimumIdle());
+            }
+            StartupTimer.mark("pool ready");
+
+            // Схема доводится миграциями, Hibernate её только проверяет (validate)
+            new SchemaMigrator(dataSource).migrate();
+            StartupTimer.mark("migrations done");
+
+            // Hibernate берёт соединения из нашего пула, а не из встроенного DriverManager-пула
+            Map<String, Object> overrides = new HashMap<>();
+            overrides.put("javax.persistence.nonJtaDataSource", dataSource);
+            emf = Persistence.createEntityManagerFactory("blogPU", overrides);
+
+            cacheMetrics = new CacheMetrics(
+                    emf.unwrap(SessionFactory.class).getStatistics());
+
+            StartupTimer.mark("EMF ready");
+            ready.complete(emf);
+        } catch (Throwable e) {
             System.err.println("Initial EntityManagerFactory creation failed." + e);
-            throw new ExceptionInInitializerError(e);
+            ready.completeExceptionally(e);
+        }
+    }
+
+    /** Ждёт окончания фоновой инициализации (или запускает её, если никто ещё не запустил). */
+    private static EntityManagerFactory emf() {
+        try {
+            return startAsync().join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("EntityManagerFactory недоступна", e.getCause());
         }
     }
 
     public static EntityManager getEntityManager() {
-        return emf.createEntityManager();
+        FxThreadWatchdog.check();
+        EntityManager em = emf().createEntityManager();
+        // запрос из SearchPipeline: сессию можно отменить из другого потока
+        QueryCancelToken token = QueryCancelToken.current();
+        if (token != null) {
+            token.register(em);
+        }
+        return em;
+    }
+
+    public static PoolMetrics getPoolMetrics() {
+        return poolMetrics;
+    }
+
+    public static CacheMetrics getCacheMetrics() {
+        emf();
+        return cacheMetrics;
+    }
+
+    /** Сводка пула, кэша и DAO — для вывода по запросу (Ctrl+Shift+M в приложении). */
+    public static String dumpMetrics() {
+        StringBuilder sb = new StringBuilder()
+                .append(poolMetrics).append(System.lineSeparator());
+        if (isReady()) {
+            sb.append(cacheMetrics).append(System.lineSeparator());
+        }
+        sb.append(SearchPipeline.getStats()).append(System.lineSeparator());
+        sb.append(FxThreadWatchdog.dump()).append(System.lineSeparator());
+        return sb.append(DaoMetrics.dump()).toString();
+    }
+
+    // ===== Кэш второго уровня =====
+
+    /** Явно удалить сущность из кэша второго уровня (после update/delete). */
+    public static void evict(Class<?> entityClass, Object id) {
+        if (id == null) return;
+        emf().getCache().evict(entityClass, id);
+    }
+
+    /** Удалить закэшированную коллекцию (role = "полное.ИмяКласса.поле"). */
+    public static void evictCollection(String role, Long ownerId) {
+        if (ownerId == null) return;
+        emf().unwrap(SessionFactory.class).getCache().evictCollectionData(role, ownerId);
     }
 
     public static void close() {
+        EntityManagerFactory emf = JpaUtil.emf;
         if (emf != null && emf.isOpen()) {
             emf.close();
         }
+        HikariDataSource dataSource = JpaUtil.dataSource;
+        if (dataSource != null && !dataSource.isClosed()) {
+            dataSource.close();
+        }
+    }
+
+    // ===== Пул соединений =====
+
+    /** db.properties из classpath, любое значение можно переопределить через -Dключ=значение. */
+    private static Properties loadConfig() throws Exception {
+        Properties props = new Properties();
+        try (InputStream in = JpaUtil.class.getResourceAsStream("/db.properties")) {
+            if (in != null) {
+                props.load(in);
+            }
+        }
+        for (String key : props.stringPropertyNames()) {
+            String override = System.getProperty(key);
+            if (override != null) {
+                props.setProperty(key, override);
+            }
+        }
+        return props;
+    }
+
+    private static HikariDataSource createDataSource(Properties config) {
+        HikariConfig hc = new HikariConfig();
+        hc.setPoolName("blogPool");
+        hc.setDriverClassName("org.postgresql.Driver");
+        hc.setJdbcUrl(config.getProperty("db.url"));
+        hc.setUsername(config.getProperty("db.user"));
+        hc.setPassword(config.getProperty("db.password"));
+
+        hc.setMinimumIdle(intProp(config, "pool.minIdle", 2));
+        hc.setMaximumPoolSize(intProp(config, "pool.maxSize", 10));
+        hc.setConnectionTimeout(intProp(config, "pool.connectionTimeoutMs", 5000));
+        hc.setLeakDetectionThreshold(intProp(config, "pool.leakDetectionMs", 0));
+
+        hc.setMetricsTrackerFactory(poolMetrics);
+
+        HikariDataSource ds = new HikariDataSource(hc);
+        poolMetrics.bind(ds.getHikariPoolMXBean());
+        return ds;
+    }
+
+    /**
+     * Одновременно берём n соединений и сразу возвращаем их в пул,
+     * чтобы первые запросы UI не платили за установку соединения.
+     */
+    private static void warmUp(HikariDataSource ds, int n) throws Exception {
+        List<Connection> borrowed = new ArrayList<>();
+        try {
+            for (int i = 0; i < n; i++) {
+                borrowed.add(ds.getConnection());
+            }
+        } finally {
+            for (Connection c : borrowed) {
+                c.close();
+            }
+        }
+    }
+
+    private static int intProp(Properties config, String key, int def) {
+        String v = config.getProperty(key);
+        if (v == null || v.isBlank()) return def;
+        return Integer.parseInt(v.trim());
     }
 }
@@ -0,0 +1,97 @@
+package org.example.blog.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Простая потокобезопасная гистограмма задержек с фиксированными
+ * (логарифмическими) корзинами. Перцентили оцениваются по верхней границе корзины.
+ */
+public class LatencyHistogram {
+
+    /** Верхние границы корзин в микросекундах (последняя корзина — всё, что больше). */
+    private static final long[] BOUNDS_MICROS = {
+            50, 100, 250, 500,
+            1_000, 2_500, 5_000, 10_000, 25_000, 50_000,
+            100_000, 250_000, 500_000,
+            1_000_000, 2_500_000, 5_000_000, 10_000_000
+    };
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BOUNDS_MICROS.length + 1);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void recordNanos(long nanos) {
+        if (nanos < 0) nanos = 0;
+        long micros = nanos / 1_000;
+
+        int idx = BOUNDS_MICROS.length;
+        for (int i = 0; i < BOUNDS_MICROS.length; i++) {
+            if (micros <= BOUNDS_MICROS[i]) {
+                idx = i;
+                break;
+            }
+        }
+
+        buckets.incrementAndGet(idx);
+        count.increment();
+        sumNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getMeanMillis() {
+        long c = count.sum();
+        return c == 0 ? 0.0 : sumNanos.sum() / 1_000_000.0 / c;
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / 1_000_000.0;
+    }
+
+    /** Оценка перцентиля (p в диапазоне 0..1) в миллисекундах. */
+    public double percentileMillis(double p) {
+        long total = 0;
+        long[] snapshot = new long[buckets.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) return 0.0;
+
+        long rank = (long) Math.ceil(p * total);
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                // граница корзины не может быть больше реального максимума
+                return i < BOUNDS_MICROS.length
+                        ? Math.min(BOUNDS_MICROS[i] / 1_000.0, getMaxMillis())
+                        : getMaxMillis();
+            }
+        }
+        return getMaxMillis();
+    }
+
+    public void reset() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        sumNanos.reset();
+        maxNanos.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.2fms p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms",
+                getCount(), getMeanMillis(),
+                percentileMillis(0.50), percentileMillis(0.95), percentileMillis(0.99),
+                getMaxMillis());
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.blog.util;
+
+import org.example.blog.dao.DaoFactory;
+import org.example.blog.dao.MediaRefDao;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Перенос картинок, сохранённых до MediaStore (абсолютные пути и file: в posts / users),
+ * в хранилище по содержимому: файл копируется в MediaStore, путь во всех колонках
+ * заменяется ссылкой media:. Одинаковые файлы становятся одним.
+ *
+ * Запускать один раз, повторный запуск безопасен (ссылки media: не трогаются).
+ * Аргумент --delete-originals — удалить перенесённые исходные файлы.
+ * Пути к несуществующим файлам остаются как есть и выводятся в конце.
+ */
+public class MediaMigrationMain {
+
+    public static void main(String[] args) {
+        boolean deleteOriginals = List.of(args).contains("--delete-originals");
+
+        MediaRefDao refDao = DaoFactory.mediaRefDao();
+        MediaStore store = MediaStore.getInstance();
+
+        int migrated = 0;
+        int updatedValues = 0;
+        List<String> missing = new ArrayList<>();
+        try {
+            List<String> legacy = refDao.findLegacyPaths();
+            System.out.println("Путей старого формата: " + legacy.size());
+
+            for (String oldPath : legacy) {
+                Path file = toFile(oldPath);
+                if (file == null || !Files.isRegularFile(file)) {
+                    missing.add(oldPath);
+                    continue;
+                }
+                String ref = store.put(file);
+                updatedValues += refDao.replaceReference(oldPath, ref);
+                migrated++;
+                System.out.println(oldPath + " -> " + ref);
+
+                if (deleteOriginals) {
+                    Files.deleteIfExists(file);
+                }
+            }
+
+            System.out.println("Перенесено файлов: " + migrated + ", обновлено значений: " + updatedValues);
+            System.out.println("Хранилище: " + store.getStats());
+            if (!missing.isEmpty()) {
+                System.out.println("Файлы не найдены (" + missing.size() + "), ссылки не изменены:");
+                missing.forEach(p -> System.out.println("  " + p));
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        } finally {
+            JpaUtil.close();
+        }
+    }
+
+    // file:///... (URL), file:/путь (как раньше собирали контроллеры) или обычный путь
+    private static Path toFile(String path) {
+        try {
+            if (!path.startsWith("file:")) return Paths.get(path);
+            try {
+                return Paths.get(URI.create(path));
+            } catch (IllegalArgumentException notUri) {
+                return Paths.get(path.substring("file:".length()));
+            }
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package org.example.blog.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Хранилище загруженных файлов по содержимому: имя файла — SHA-256, одинаковые загрузки
+ * хранятся один раз. В БД пишется ссылка "media:&lt;sha256&gt;.&lt;ext&gt;" (без абсолютного пути),
+ * файл лежит в &lt;root&gt;/&lt;первые 2 символа&gt;/&lt;sha256&gt;.&lt;ext&gt;.
+ *
+ * Запись — во временный файл в корне хранилища и атомарное переименование.
+ * Ссылок из БД хранилище не знает: неиспользуемые файлы удаляет MediaGarbageCollector.
+ */
+public class MediaStore {
+
+    public static final String SCHEME = "media:";
+
+    /** Корень: -Dmedia.root=... */
+    private static final MediaStore INSTANCE = new MediaStore(Paths.get(System.getProperty("media.root", "images/media")));
+
+    public static MediaStore getInstance() {
+        return INSTANCE;
+    }
+
+    private final Path root;
+
+    // put (повторная загрузка того же файла) и удаление сборщиком не пересекаются
+    private final Object lock = new Object();
+
+    private final AtomicLong stored = new AtomicLong();
+    private final AtomicLong deduplicated = new AtomicLong();
+    private final AtomicLong bytesStored = new AtomicLong();
+    private final AtomicLong deleted = new AtomicLong();
+
+    MediaStore(Path root) {
+        this.root = root;
+    }
+
+    public static boolean isRef(String path) {
+        return path != null && path.startsWith(SCHEME);
+    }
+
+    /** Положить копию файла; возвращает ссылку. */
+    public String put(Path source) throws IOException {
+        Path tmp = createTemp();
+        try {
+            Files.copy(source, tmp, StandardCopyOption.REPLACE_EXISTING);
+            return putTemp(tmp, extension(source.getFileName().toString()));
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Временный файл, созданный в этом хранилище (createTemp), переносится на место по хэшу.
+     * После вызова tmp не существует.
+     */
+    public String putTemp(Path tmp, String ext) throws IOException {
+        String name = sha256(tmp) + (ext.isEmpty() ? "" : "." + ext);
+        Path target = blobPath(name);
+        Files.createDirectories(target.getParent());
+
+        synchronized (lock) {
+            if (Files.exists(target)) {
+                // уже есть: свежая дата защищает файл от сборщика, пока ссылку не сохранили в БД
+                Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                Files.delete(tmp);
+                deduplicated.incrementAndGet();
+            } else {
+                long size = Files.size(tmp);
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                stored.incrementAndGet();
+                bytesStored.addAndGet(size);
+            }
+        }
+        return SCHEME + name;
+    }
+
+    /** Пустой временный файл для записи (на том же диске, что и хранилище — move атомарный). */
+    public Path createTemp() throws IOException {
+        Files.createDirectories(root);
+        return Files.createTempFile(root, "put", ".tmp");
+    }
+
+    /** Файл по ссылке (может не существовать). */
+    public Path resolve(String ref) {
+        if (!isRef(ref)) throw new IllegalArgumentException("Не ссылка " + SCHEME + ": " + ref);
+        return blobPath(ref.substring(SCHEME.length()));
+    }
+
+    /** Все ссылки, для которых есть файлы. */
+    public List<String> listRefs() throws IOException {
+        List<String> refs = new ArrayList<>();
+        if (!Files.isDirectory(root)) return refs;
+
+        try (DirectoryStream<Path> shards = Files.newDirectoryStream(root, Files::isDirectory)) {
+            for (Path shard : shards) {
+                try (DirectoryStream<Path> blobs = Files.newDirectoryStream(shard, Files::isRegularFile)) {
+                    for (Path blob : blobs) {
+                        refs.add(SCHEME + blob.getFileName());
+                    }
+                }
+            }
+        }
+        return refs;
+    }
+
+    /** Удалить файл, если он не менялся после cutoff; true — удалён. */
+    public boolean deleteIfOlderThan(String ref, Instant cutoff) throws IOException {
+        Path blob = resolve(ref);
+        synchronized (lock) {
+            if (!Files.exists(blob) || Files.getLastModifiedTime(blob).toInstant().isAfter(cutoff)) {
+                return false;
+            }
+            Files.delete(blob);
+        }
+        deleted.incrementAndGet();
+        return true;
+    }
+
+    private Path blobPath(String name) {
+        if (name.length() < 3 || name.contains("/") || name.contains("\\")) {
+            throw new IllegalArgumentException("Некорректное имя: " + name);
+        }
+        return root.resolve(name.substring(0, 2)).resolve(name);
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String extension(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 && dot < fileName.length() - 1 ? fileName.substring(dot + 1).toLowerCase(Locale.ROOT) : "";
+    }
+
+    // ===== Метрики =====
+
+    public String getStats() {
+        return String.format("stored=%d (%dK) deduplicated=%d deleted=%d",
+                stored.get(), bytesStored.get() / 1024, deduplicated.get(), deleted.get());
+    }
+}
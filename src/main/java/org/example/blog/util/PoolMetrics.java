@@ -0,0 +1,78 @@
+package org.example.blog.util;
+
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Метрики пула соединений: активные / свободные / ожидающие потоки
+ * и гистограмма времени получения соединения.
+ */
+public class PoolMetrics implements MetricsTrackerFactory {
+
+    private final LatencyHistogram acquireLatency = new LatencyHistogram();
+    private final LongAdder timeouts = new LongAdder();
+
+    private volatile HikariPoolMXBean poolBean;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquireLatency.recordNanos(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    void bind(HikariPoolMXBean poolBean) {
+        this.poolBean = poolBean;
+    }
+
+    public int getActiveConnections() {
+        HikariPoolMXBean b = poolBean;
+        return b != null ? b.getActiveConnections() : 0;
+    }
+
+    public int getIdleConnections() {
+        HikariPoolMXBean b = poolBean;
+        return b != null ? b.getIdleConnections() : 0;
+    }
+
+    public int getTotalConnections() {
+        HikariPoolMXBean b = poolBean;
+        return b != null ? b.getTotalConnections() : 0;
+    }
+
+    /** Сколько потоков сейчас ждут свободного соединения. */
+    public int getWaitingThreads() {
+        HikariPoolMXBean b = poolBean;
+        return b != null ? b.getThreadsAwaitingConnection() : 0;
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    public LatencyHistogram getAcquireLatency() {
+        return acquireLatency;
+    }
+
+    @Override
+    public String toString() {
+        return "Pool[active=" + getActiveConnections()
+                + ", idle=" + getIdleConnections()
+                + ", total=" + getTotalConnections()
+                + ", waiting=" + getWaitingThreads()
+                + ", timeouts=" + getTimeouts()
+                + ", acquire: " + acquireLatency + "]";
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.blog.util;
+
+import org.hibernate.Session;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Отмена запросов, выполняемых в другом потоке.
+ *
+ * Пока токен привязан к потоку (bind), JpaUtil.getEntityManager() регистрирует в нём
+ * каждую новую сессию и ставит ей таймаут запросов; cancel() из любого потока
+ * прерывает текущий JDBC-statement этих сессий (Session.cancelQuery -> Statement.cancel).
+ */
+public final class QueryCancelToken {
+
+    private static final ThreadLocal<QueryCancelToken> current = new ThreadLocal<>();
+
+    private final int timeoutMs;
+    private final List<Session> sessions = new CopyOnWriteArrayList<>();
+    private volatile boolean cancelled;
+
+    /** @param timeoutMs таймаут каждого запроса, мс (0 — без таймаута) */
+    public QueryCancelToken(int timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    public static QueryCancelToken current() {
+        return current.get();
+    }
+
+    public void bind() {
+        current.set(this);
+    }
+
+    public void unbind() {
+        if (current.get() == this) {
+            current.remove();
+        }
+    }
+
+    // вызывается из JpaUtil.getEntityManager() в потоке запроса
+    void register(EntityManager em) {
+        if (cancelled) {
+            em.close();
+            throw new CancellationException("Запрос отменён");
+        }
+        if (timeoutMs > 0) {
+            em.setProperty("javax.persistence.query.timeout", timeoutMs);
+        }
+        Session session = em.unwrap(Session.class);
+        sessions.add(session);
+        // cancel() мог проскочить между проверкой и add
+        if (cancelled) {
+            cancelSession(session);
+        }
+    }
+
+    /** @return сколько выполняющихся statement'ов получили cancel */
+    public int cancel() {
+        cancelled = true;
+        int n = 0;
+        for (Session s : sessions) {
+            if (cancelSession(s)) n++;
+        }
+        sessions.clear();
+        return n;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    private static boolean cancelSession(Session s) {
+        try {
+            if (!s.isOpen()) return false;
+            s.cancelQuery();
+            return true;
+        } catch (RuntimeException e) {
+            // сессия закрылась между проверкой и cancel — запрос уже завершён
+            return false;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package org.example.blog.util;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Версионные миграции схемы: SQL-скрипты из classpath:/db/migration,
+ * применённые версии и их контрольные суммы хранятся в schema_migrations.
+ *
+ * Запускается один раз при старте (JpaUtil) до создания EntityManagerFactory,
+ * после чего Hibernate только проверяет схему (hbm2ddl.auto=validate).
+ */
+public class SchemaMigrator {
+
+    private static final String LOCATION = "/db/migration/";
+
+    /** Скрипты по порядку; новую миграцию добавлять в конец. */
+    private static final String[] SCRIPTS = {
+            "V1__baseline.sql",
+            "V2__id_sequences.sql",
+            "V3__hot_query_indexes.sql",
+            "V4__feed_keyset_index.sql",
+            "V5__post_search_vector.sql",
+            "V6__feed_sort_indexes.sql",
+            "V7__trigram_indexes.sql",
+            "V8__image_variants.sql",
+            "V9__counter_reconcile_indexes.sql",
+            "V10__post_views_partitioning.sql",
+            "V11__drop_avatar_small.sql"
+    };
+
+    /**
+     * Прежние суммы скриптов, в которых после применения исправлены только комментарии:
+     * такая сумма принимается и заменяется текущей. Менять SQL применённого скрипта нельзя.
+     */
+    private static final Map<Integer, String> COMMENT_ONLY_EDITS = Map.of(
+            6, "3f201796c5af0366338a52c1ef3eef383789b79e7e8036b69f22f7b61f945b1b");
+
+    /** Ключ pg_advisory_lock, чтобы два экземпляра приложения не мигрировали одновременно. */
+    private static final long LOCK_KEY = 7_301_001L;
+
+    private final DataSource dataSource;
+
+    public SchemaMigrator(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /** @return сколько миграций применено в этом запуске */
+    public int migrate() throws SQLException, IOException {
+        try (Connection c = dataSource.getConnection()) {
+            boolean oldAutoCommit = c.getAutoCommit();
+            c.setAutoCommit(true);
+            try (Statement st = c.createStatement()) {
+                st.execute("SELECT pg_advisory_lock(" + LOCK_KEY + ")");
+            }
+            try {
+                createHistoryTable(c);
+                Map<Integer, String> applied = loadApplied(c);
+
+                int count = 0;
+                for (String script : SCRIPTS) {
+                    int version = parseVersion(script);
+                    String sql = readScript(script);
+                    String checksum = sha256(sql);
+
+                    String appliedChecksum = applied.get(version);
+                    if (appliedChecksum != null) {
+                        if (appliedChecksum.equals(COMMENT_ONLY_EDITS.get(version))) {
+                            updateChecksum(c, version, checksum);
+                        } else if (!appliedChecksum.equals(checksum)) {
+                            throw new IllegalStateException("Миграция " + script
+                                    + " изменена после применения (checksum не совпадает)");
+                        }
+                        continue;
+                    }
+
+                    apply(c, version, script, sql, checksum);
+                    count++;
+                }
+                return count;
+            } finally {
+                try (Statement st = c.createStatement()) {
+                    st.execute("SELECT pg_advisory_unlock(" + LOCK_KEY + ")");
+                }
+                c.setAutoCommit(oldAutoCommit);
+            }
+        }
+    }
+
+    private void createHistoryTable(Connection c) throws SQLException {
+        try (Statement st = c.createStatement()) {
+            st.execute("CREATE TABLE IF NOT EXISTS schema_migrations (" +
+                    "version INT PRIMARY KEY, " +
+                    "description VARCHAR(200) NOT NULL, " +
+                    "checksum VARCHAR(64) NOT NULL, " +
+                    "applied_at TIMESTAMP NOT NULL, " +
+                    "execution_ms BIGINT NOT NULL)");
+        }
+    }
+
+    private Map<Integer, String> loadApplied(Connection c) throws SQLException {
+        Map<Integer, String> result = new HashMap<>();
+        try (Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("SELECT version, checksum FROM schema_migrations")) {
+            while (rs.next()) {
+                result.put(rs.getInt(1), rs.getString(2));
+            }
+        }
+        return result;
+    }
+
+    private void updateChecksum(Connection c, int version, String checksum) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(
+                "UPDATE schema_migrations SET checksum = ? WHERE version = ?")) {
+            ps.setString(1, checksum);
+            ps.setInt(2, version);
+            ps.executeUpdate();
+        }
+        System.out.println("Миграция V" + version + ": обновлена контрольная сумма (правка комментариев)");
+    }
+
+    /** Скрипт и запись в истории — в одной транзакции. */
+    private void apply(Connection c, int version, String script, String sql, String checksum)
+            throws SQLException {
+        long start = System.nanoTime();
+        c.setAutoCommit(false);
+        try {
+            try (Statement st = c.createStatement()) {
+                st.execute(sql);
+            }
+            long ms = (System.nanoTime() - start) / 1_000_000;
+
+            try (PreparedStatement ps = c.prepareStatement(
+                    "INSERT INTO schema_migrations (version, description, checksum, applied_at, execution_ms) " +
+                            "VALUES (?, ?, ?, ?, ?)")) {
+                ps.setInt(1, version);
+                ps.setString(2, parseDescription(script));
+                ps.setString(3, checksum);
+                ps.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+                ps.setLong(5, ms);
+                ps.executeUpdate();
+            }
+            c.commit();
+            System.out.println("Миграция применена: " + script + " (" + ms + " мс)");
+        } catch (SQLException e) {
+            c.rollback();
+            throw new SQLException("Ошибка миграции " + script + ": " + e.getMessage(), e);
+        } finally {
+            c.setAutoCommit(true);
+        }
+    }
+
+    private String readScript(String script) throws IOException {
+        try (InputStream in = SchemaMigrator.class.getResourceAsStream(LOCATION + script)) {
+            if (in == null) {
+                throw new IOException("Скрипт миграции не найден: " + LOCATION + script);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    // "V3__hot_query_indexes.sql" -> 3
+    private static int parseVersion(String script) {
+        return Integer.parseInt(script.substring(1, script.indexOf("__")));
+    }
+
+    // "V3__hot_query_indexes.sql" -> "hot query indexes"
+    private static String parseDescription(String script) {
+        String name = script.substring(script.indexOf("__") + 2, script.lastIndexOf('.'));
+        return name.replace('_', ' ');
+    }
+
+    private static String sha256(String text) {
+        try {
+            // \r\n -> \n: одинаковая сумма при checkout на Windows и Linux
+            byte[] bytes = text.replace("\r\n", "\n").getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.blog.util;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Запросы поиска/фильтров Reader вне FX-потока, "побеждает последний".
+ *
+ * Каждый submit() отменяет предыдущий запрос (JDBC-statement через QueryCancelToken)
+ * и выполняется в фоне; результат отдаётся в FX-поток, только если за это время
+ * не пришёл более новый запрос. Debounce ввода — на стороне контроллера.
+ */
+public final class SearchPipeline {
+
+    private static final AtomicInteger threadNo = new AtomicInteger();
+
+    // 2 потока: новый запрос не ждёт, пока отменённый вернёт соединение
+    private static final ExecutorService executor = Executors.newFixedThreadPool(2, r -> {
+        Thread t = new Thread(r, "search-" + threadNo.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    private static volatile int queryTimeoutMs = 5000;
+
+    // общие метрики всех экземпляров
+    private static final AtomicLong submitted = new AtomicLong();
+    private static final AtomicLong completed = new AtomicLong();
+    private static final AtomicLong superseded = new AtomicLong();
+    private static final AtomicLong failed = new AtomicLong();
+    private static final AtomicLong cancelledStatements = new AtomicLong();
+
+    private final AtomicLong version = new AtomicLong();
+    private volatile QueryCancelToken inFlight;
+
+    public static void setQueryTimeoutMs(int ms) {
+        queryTimeoutMs = ms;
+    }
+
+    /**
+     * Выполнить query в фоне; onResult / onError вызываются в FX-потоке
+     * и только для последнего отправленного запроса.
+     */
+    public <T> void submit(Supplier<T> query, Consumer<T> onResult, Consumer<Throwable> onError) {
+        long v = version.incrementAndGet();
+        QueryCancelToken token = new QueryCancelToken(queryTimeoutMs);
+        QueryCancelToken previous = inFlight;
+        inFlight = token;
+        if (previous != null) {
+            cancelledStatements.addAndGet(previous.cancel());
+        }
+        submitted.incrementAndGet();
+
+        executor.execute(() -> {
+            if (v != version.get()) {
+                // устарел ещё в очереди
+                superseded.incrementAndGet();
+                return;
+            }
+            T result;
+            token.bind();
+            try {
+                result = query.get();
+            } catch (RuntimeException e) {
+                if (v != version.get() || token.isCancelled()) {
+                    superseded.incrementAndGet();
+                } else {
+                    failed.incrementAndGet();
+                    Platform.runLater(() -> {
+                        if (v == version.get()) onError.accept(e);
+                    });
+                }
+                return;
+            } finally {
+                token.unbind();
+            }
+
+            Platform.runLater(() -> {
+                if (v == version.get()) {
+                    completed.incrementAndGet();
+                    onResult.accept(result);
+                } else {
+                    superseded.incrementAndGet();
+                }
+            });
+        });
+    }
+
+    /** Отменить текущий запрос (уход со страницы и т.п.); его результат не будет показан. */
+    public void cancel() {
+        version.incrementAndGet();
+        QueryCancelToken token = inFlight;
+        inFlight = null;
+        if (token != null) {
+            cancelledStatements.addAndGet(token.cancel());
+        }
+    }
+
+    public static long getSubmitted() {
+        return submitted.get();
+    }
+
+    public static long getCompleted() {
+        return completed.get();
+    }
+
+    public static long getSuperseded() {
+        return superseded.get();
+    }
+
+    public static long getFailed() {
+        return failed.get();
+    }
+
+    public static long getCancelledStatements() {
+        return cancelledStatements.get();
+    }
+
+    public static String getStats() {
+        return String.format("Search: submitted=%d completed=%d superseded=%d failed=%d cancelledSql=%d",
+                submitted.get(), completed.get(), superseded.get(), failed.get(), cancelledStatements.get());
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.blog.util;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * StatementInspector Hibernate: считает SQL, выполненные текущим потоком,
+ * и запоминает первые несколько текстов — для лога медленных вызовов DAO.
+ * Подключён в persistence.xml (hibernate.session_factory.statement_inspector).
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Сколько SQL-текстов держим на один вызов DAO. */
+    private static final int MAX_CAPTURED = 5;
+
+    private static final class Capture {
+        long count;
+        int depth;
+        final List<String> sql = new ArrayList<>();
+    }
+
+    private static final ThreadLocal<Capture> current = ThreadLocal.withInitial(Capture::new);
+
+    @Override
+    public String inspect(String sql) {
+        Capture c = current.get();
+        c.count++;
+        if (c.depth > 0 && c.sql.size() < MAX_CAPTURED) {
+            c.sql.add(sql);
+        }
+        return sql;
+    }
+
+    /** Счётчик SQL текущего потока (монотонный, считать разницу). */
+    public static long count() {
+        return current.get().count;
+    }
+
+    /** Начало вызова DAO: с этого момента тексты SQL запоминаются. */
+    static void begin() {
+        Capture c = current.get();
+        if (c.depth++ == 0) {
+            c.sql.clear();
+        }
+    }
+
+    /** Конец вызова DAO; возвращает тексты SQL, если это внешний вызов. */
+    static List<String> end() {
+        Capture c = current.get();
+        if (--c.depth > 0) {
+            return Collections.emptyList();
+        }
+        List<String> result = new ArrayList<>(c.sql);
+        c.sql.clear();
+        return result;
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.blog.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Отметки времени запуска (мс от старта JVM): первый кадр, готовность EMF и т.п.
+ * Каждая отметка пишется в stdout одной строкой "[startup] ...", чтобы было легко
+ * сравнивать запуски и ловить регрессии.
+ */
+public final class StartupTimer {
+
+    private static final long JVM_START_MS = ManagementFactory.getRuntimeMXBean().getStartTime();
+
+    private static final Map<String, Long> marks = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private StartupTimer() {
+    }
+
+    /** Запоминает событие (только первое срабатывание) и печатает его. */
+    public static void mark(String event) {
+        long elapsed = System.currentTimeMillis() - JVM_START_MS;
+        if (marks.putIfAbsent(event, elapsed) == null) {
+            System.out.println("[startup] " + event + ": " + elapsed + " ms");
+        }
+    }
+
+    /** Время события в мс от старта JVM или -1, если события ещё не было. */
+    public static long get(String event) {
+        Long v = marks.get(event);
+        return v != null ? v : -1;
+    }
+
+    public static Map<String, Long> getMarks() {
+        synchronized (marks) {
+            return new LinkedHashMap<>(marks);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+-- post_views секционируется по месяцам viewed_at (PARTITION BY RANGE): запросы с диапазоном дат
+-- читают только нужные месяцы, старые месяцы удаляются целиком (DROP секции, без DELETE и VACUUM).
+-- Секции наперёд и хранение — PostViewPartitionMaintainer; строки вне секций попадают в DEFAULT.
+-- Первичный ключ секционированной таблицы обязан включать ключ секционирования: (id, viewed_at).
+
+DO $$
+DECLARE
+    m          DATE;
+    last_month DATE;
+BEGIN
+    IF (SELECT relkind FROM pg_class WHERE oid = 'post_views'::regclass) = 'p' THEN
+        RETURN;
+    END IF;
+
+    ALTER TABLE post_views RENAME TO post_views_old;
+
+    CREATE TABLE post_views (
+        id        INT8      NOT NULL DEFAULT nextval('post_views_seq'),
+        viewed_at TIMESTAMP NOT NULL,
+        post_id   INT8      NOT NULL REFERENCES posts,
+        user_id   INT8      NOT NULL REFERENCES users
+    ) PARTITION BY RANGE (viewed_at);
+
+    CREATE TABLE post_views_default PARTITION OF post_views DEFAULT;
+
+    -- от месяца самого старого просмотра до трёх месяцев вперёд
+    m := date_trunc('month', COALESCE((SELECT MIN(viewed_at) FROM post_views_old), now()))::date;
+    last_month := (date_trunc('month', now()) + INTERVAL '3 months')::date;
+    WHILE m <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF post_views FOR VALUES FROM (%L) TO (%L)',
+                       'post_views_' || to_char(m, 'YYYY_MM'), m, (m + INTERVAL '1 month')::date);
+        m := (m + INTERVAL '1 month')::date;
+    END LOOP;
+
+    INSERT INTO post_views (id, viewed_at, post_id, user_id)
+    SELECT id, viewed_at, post_id, user_id FROM post_views_old;
+
+    -- индексы старой таблицы уходят вместе с ней, имена освобождаются
+    DROP TABLE post_views_old;
+
+    ALTER TABLE post_views ADD PRIMARY KEY (id, viewed_at);
+END $$;
+
+-- на родителе: создаются в каждой секции, в том числе в будущих
+CREATE INDEX IF NOT EXISTS idx_post_views_user_viewed_at
+    ON post_views (user_id, viewed_at);
+
+CREATE INDEX IF NOT EXISTS idx_post_views_post
+    ON post_views (post_id);
+
+-- Просмотры старше срока хранения: число за день по (читатель, запись).
+-- PostViewDaoImpl и CounterDaoImpl складывают их с сырыми строками.
+CREATE TABLE IF NOT EXISTS post_view_daily (
+    user_id   INT8 NOT NULL REFERENCES users ON DELETE CASCADE,
+    view_date DATE NOT NULL,
+    post_id   INT8 NOT NULL REFERENCES posts ON DELETE CASCADE,
+    views     INT8 NOT NULL,
+    PRIMARY KEY (user_id, view_date, post_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_post_view_daily_post
+    ON post_view_daily (post_id);
@@ -0,0 +1,3 @@
+-- Вариант AVATAR_SMALL (V8) нигде не показывался — колонка убрана.
+-- Его файлы больше никто не упоминает, их удалит MediaGarbageCollector.
+ALTER TABLE users DROP COLUMN IF EXISTS avatar_small_url;
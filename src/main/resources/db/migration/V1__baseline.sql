@@ -0,0 +1,87 @@
+-- Исходная схема (как её создавал hibernate.hbm2ddl.auto=update).
+-- Для базы, уже созданной Hibernate, все CREATE пропускаются (IF NOT EXISTS).
+
+CREATE TABLE IF NOT EXISTS users (
+    id            BIGSERIAL    NOT NULL,
+    age           INT4,
+    avatar_url    VARCHAR(255),
+    bio           TEXT,
+    country       VARCHAR(100),
+    created_at    TIMESTAMP    NOT NULL,
+    full_name     VARCHAR(100),
+    gender        VARCHAR(10),
+    password_hash VARCHAR(255) NOT NULL,
+    status        VARCHAR(20),
+    updated_at    TIMESTAMP,
+    username      VARCHAR(50)  NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UK_r43af9ap4edm43mmtq01oddj6 UNIQUE (username)
+);
+
+CREATE TABLE IF NOT EXISTS topics (
+    id          BIGSERIAL    NOT NULL,
+    description TEXT,
+    name        VARCHAR(100) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UK_7tuhnscjpohbffmp7btit1uff UNIQUE (name)
+);
+
+CREATE TABLE IF NOT EXISTS user_topics (
+    user_id  INT8 NOT NULL,
+    topic_id INT8 NOT NULL,
+    PRIMARY KEY (user_id, topic_id),
+    CONSTRAINT FKqu8wvgdxo8kbdf35h77yahhie FOREIGN KEY (user_id) REFERENCES users,
+    CONSTRAINT FK9oow3ns9gdswmj72245fwlsuk FOREIGN KEY (topic_id) REFERENCES topics
+);
+
+CREATE TABLE IF NOT EXISTS posts (
+    id             BIGSERIAL    NOT NULL,
+    comments_count INT4         NOT NULL,
+    content        TEXT         NOT NULL,
+    created_at     TIMESTAMP    NOT NULL,
+    image_path     VARCHAR(255),
+    image_url      VARCHAR(255),
+    saved_count    INT4         NOT NULL,
+    status         VARCHAR(20)  NOT NULL,
+    thumbnail_url  VARCHAR(255),
+    title          VARCHAR(200) NOT NULL,
+    updated_at     TIMESTAMP,
+    views          INT4         NOT NULL,
+    author_id      INT8         NOT NULL,
+    topic_id       INT8         NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT FK6xvn0811tkyo3nfjk2xvqx6ns FOREIGN KEY (author_id) REFERENCES users,
+    CONSTRAINT FKrfchr8dax0kfngvvkbteh5n7h FOREIGN KEY (topic_id) REFERENCES topics
+);
+
+CREATE TABLE IF NOT EXISTS comments (
+    id         BIGSERIAL NOT NULL,
+    content    TEXT      NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    author_id  INT8      NOT NULL,
+    post_id    INT8      NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT FKn2na60ukhs76ibtpt9burkm27 FOREIGN KEY (author_id) REFERENCES users,
+    CONSTRAINT FKh4c7lvsc298whoyd4w9ta25cr FOREIGN KEY (post_id) REFERENCES posts
+);
+
+CREATE TABLE IF NOT EXISTS saved_posts (
+    id       BIGSERIAL NOT NULL,
+    saved_at TIMESTAMP NOT NULL,
+    post_id  INT8      NOT NULL,
+    user_id  INT8      NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UKrp4caf9aruyad4113wv29bowp UNIQUE (user_id, post_id),
+    CONSTRAINT FK9poxgdc1595vxdxkyg202x4ge FOREIGN KEY (post_id) REFERENCES posts,
+    CONSTRAINT FKs9a5ulcshnympbu557ps3qdlv FOREIGN KEY (user_id) REFERENCES users
+);
+
+CREATE TABLE IF NOT EXISTS post_views (
+    id       BIGSERIAL NOT NULL,
+    viewedAt TIMESTAMP NOT NULL,
+    post_id  INT8      NOT NULL,
+    user_id  INT8      NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT FKm1fm9hc7487k4j6qd2g1iq0k2 FOREIGN KEY (post_id) REFERENCES posts,
+    CONSTRAINT FKiiwykhlbhjwi5cxxcx9n76cd6 FOREIGN KEY (user_id) REFERENCES users
+);
@@ -0,0 +1,17 @@
+-- PostView и Comment берут ключи из sequence (allocationSize = 50, pooled-оптимизатор Hibernate).
+-- Sequence сдвигается за MAX(id), чтобы не пересечься со строками, вставленными через IDENTITY.
+
+CREATE SEQUENCE IF NOT EXISTS post_views_seq START 1 INCREMENT 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START 1 INCREMENT 50;
+
+SELECT setval('post_views_seq', GREATEST(
+        (SELECT COALESCE(MAX(id), 0) FROM post_views),
+        (SELECT last_value FROM post_views_seq)));
+
+SELECT setval('comments_seq', GREATEST(
+        (SELECT COALESCE(MAX(id), 0) FROM comments),
+        (SELECT last_value FROM comments_seq)));
+
+-- INSERT без id (вне Hibernate) тоже берут значения из новой sequence
+ALTER TABLE post_views ALTER COLUMN id SET DEFAULT nextval('post_views_seq');
+ALTER TABLE comments ALTER COLUMN id SET DEFAULT nextval('comments_seq');
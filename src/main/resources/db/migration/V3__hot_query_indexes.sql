@@ -0,0 +1,30 @@
+-- Вторичные индексы под горячие запросы.
+
+-- post_views.viewedAt -> viewed_at (как остальные колонки в snake_case)
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'post_views' AND column_name = 'viewedat') THEN
+        ALTER TABLE post_views RENAME COLUMN viewedat TO viewed_at;
+    END IF;
+END $$;
+
+-- DashboardService.getDailyViewsForUser / getReadingStreak, PostViewDaoImpl
+CREATE INDEX IF NOT EXISTS idx_post_views_user_viewed_at
+    ON post_views (user_id, viewed_at);
+
+-- PostDaoImpl.findAllPublished / searchPublished (WHERE status = ? ORDER BY created_at DESC)
+CREATE INDEX IF NOT EXISTS idx_posts_status_created_at
+    ON posts (status, created_at);
+
+-- PostDaoImpl.findByAuthor (WHERE author_id = ? ORDER BY created_at DESC)
+CREATE INDEX IF NOT EXISTS idx_posts_author_created_at
+    ON posts (author_id, created_at);
+
+-- CommentDaoImpl.findByPostId (WHERE post_id = ? ORDER BY created_at)
+CREATE INDEX IF NOT EXISTS idx_comments_post_created_at
+    ON comments (post_id, created_at);
+
+-- SavedPostDaoImpl.findSavedPostsByUser (WHERE user_id = ? ORDER BY saved_at DESC)
+CREATE INDEX IF NOT EXISTS idx_saved_posts_user_saved_at
+    ON saved_posts (user_id, saved_at);
@@ -0,0 +1,7 @@
+-- Лента Reader: keyset-пагинация по (created_at, id) внутри статуса.
+-- PostDaoImpl.findPublishedPage: WHERE status = ? AND (created_at, id) < (?, ?) ORDER BY created_at DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_posts_status_created_at_id
+    ON posts (status, created_at, id);
+
+-- Префикс (status, created_at) покрывается новым индексом
+DROP INDEX IF EXISTS idx_posts_status_created_at;
@@ -0,0 +1,46 @@
+-- Полнотекстовый поиск по записям: posts.search_vector + GIN-индекс.
+-- Заголовок — вес A, содержимое — вес B (ts_rank ставит совпадения в заголовке выше).
+-- russian / english — со стеммингом; simple — без стемминга, для вьетнамского и точных слов.
+
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+CREATE OR REPLACE FUNCTION posts_search_vector(title TEXT, content TEXT) RETURNS tsvector AS $$
+    SELECT setweight(to_tsvector('russian', coalesce(title, '')), 'A')
+        || setweight(to_tsvector('english', coalesce(title, '')), 'A')
+        || setweight(to_tsvector('simple',  coalesce(title, '')), 'A')
+        || setweight(to_tsvector('russian', coalesce(content, '')), 'B')
+        || setweight(to_tsvector('english', coalesce(content, '')), 'B')
+        || setweight(to_tsvector('simple',  coalesce(content, '')), 'B');
+$$ LANGUAGE sql IMMUTABLE;
+
+-- Запрос пользователя -> tsquery: совпадение хотя бы в одной из конфигураций
+CREATE OR REPLACE FUNCTION posts_search_query(q TEXT) RETURNS tsquery AS $$
+    SELECT websearch_to_tsquery('russian', q)
+        || websearch_to_tsquery('english', q)
+        || websearch_to_tsquery('simple', q);
+$$ LANGUAGE sql IMMUTABLE;
+
+CREATE OR REPLACE FUNCTION posts_search_vector_update() RETURNS trigger AS $$
+BEGIN
+    NEW.search_vector := posts_search_vector(NEW.title, NEW.content);
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_posts_search_vector_insert ON posts;
+CREATE TRIGGER trg_posts_search_vector_insert
+    BEFORE INSERT ON posts
+    FOR EACH ROW EXECUTE FUNCTION posts_search_vector_update();
+
+-- Hibernate обновляет строку целиком (в т.ч. при +1 просмотр), поэтому пересчёт только при смене текста
+DROP TRIGGER IF EXISTS trg_posts_search_vector_update ON posts;
+CREATE TRIGGER trg_posts_search_vector_update
+    BEFORE UPDATE OF title, content ON posts
+    FOR EACH ROW
+    WHEN (OLD.title IS DISTINCT FROM NEW.title OR OLD.content IS DISTINCT FROM NEW.content)
+    EXECUTE FUNCTION posts_search_vector_update();
+
+UPDATE posts SET search_vector = posts_search_vector(title, content);
+
+CREATE INDEX IF NOT EXISTS idx_posts_search_vector
+    ON posts USING GIN (search_vector);
@@ -0,0 +1,14 @@
+-- Сортировки ленты Reader (FeedSort): keyset по (ключ, created_at, id) внутри статуса.
+-- PostDaoImpl.findPublishedPage: WHERE status = ? AND (views, created_at, id) < (?, ?, ?)
+--                                ORDER BY views DESC, created_at DESC, id DESC LIMIT ?
+CREATE INDEX IF NOT EXISTS idx_posts_status_views_created_at_id
+    ON posts (status, views, created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_posts_status_comments_created_at_id
+    ON posts (status, comments_count, created_at, id);
+
+-- Фильтр по теме: WHERE status = ? AND topic_id = ? ORDER BY created_at DESC, id DESC.
+-- FAVORITES_FIRST этим индексом не обслуживается: первый ключ — CASE по :favTopicIds,
+-- его нет в индексе, поэтому это сортировка всех подходящих строк, затем LIMIT.
+CREATE INDEX IF NOT EXISTS idx_posts_status_topic_created_at_id
+    ON posts (status, topic_id, created_at, id);
@@ -0,0 +1,12 @@
+-- Поиск подстроки в имени автора и заголовке (фильтр Reader): LIKE '%...%' по lower(...)
+-- обслуживается триграммным GIN-индексом; он же — для подсказок "Возможно, вы имели в виду"
+-- (word_similarity / оператор <%). pg_trgm — trusted-расширение (PostgreSQL 13+).
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- PostFilterQuery: LOWER(a.fullName) LIKE :authorName
+CREATE INDEX IF NOT EXISTS idx_users_full_name_trgm
+    ON users USING gin (lower(full_name) gin_trgm_ops);
+
+-- PostFilterQuery: LOWER(p.title) LIKE :titlePart
+CREATE INDEX IF NOT EXISTS idx_posts_title_trgm
+    ON posts USING gin (lower(title) gin_trgm_ops);
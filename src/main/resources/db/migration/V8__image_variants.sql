@@ -0,0 +1,7 @@
+-- Уменьшенные варианты загруженных картинок (ImageVariants); thumbnail_url / avatar_url — оригинал.
+-- NULL — запись/аватар загружены раньше: показывается оригинал.
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS thumbnail_card_url   VARCHAR(255);
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS thumbnail_detail_url VARCHAR(255);
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS avatar_small_url VARCHAR(255);
+ALTER TABLE users ADD COLUMN IF NOT EXISTS avatar_large_url VARCHAR(255);
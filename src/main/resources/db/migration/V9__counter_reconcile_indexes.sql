@@ -0,0 +1,8 @@
+-- CounterDaoImpl.findDrift / recount: COUNT(*) ... WHERE post_id IN (порция id).
+-- comments(post_id, created_at) уже есть (V3); у saved_posts уникальный ключ начинается с user_id.
+
+CREATE INDEX IF NOT EXISTS idx_saved_posts_post
+    ON saved_posts (post_id);
+
+CREATE INDEX IF NOT EXISTS idx_post_views_post
+    ON post_views (post_id);